@@ -17,12 +17,29 @@ NC='\033[0m' # No Color
 # Configuration
 SQLITE_JAR="sqlite-jdbc-3.44.1.0.jar"
 SQLITE_URL="https://repo1.maven.org/maven2/org/xerial/sqlite-jdbc/3.44.1.0/sqlite-jdbc-3.44.1.0.jar"
+# The driver logs through SLF4J and won't load without it (no binding needed)
+SLF4J_API="slf4j-api-1.7.36.jar"
+SLF4J_API_URL="https://repo1.maven.org/maven2/org/slf4j/slf4j-api/1.7.36/$SLF4J_API"
+SQLITE_CLASSPATH="$SQLITE_JAR:$SLF4J_API"
 # JUnit 5 dependencies
 JUNIT_PLATFORM="junit-platform-console-standalone-1.10.1.jar"
 JUNIT_URL="https://repo1.maven.org/maven2/org/junit/platform/junit-platform-console-standalone/1.10.1/junit-platform-console-standalone-1.10.1.jar"
+# JMH benchmark harness (only downloaded for bench/jmh)
+JMH_VERSION="1.37"
+JMH_CORE="jmh-core-$JMH_VERSION.jar"
+JMH_CORE_URL="https://repo1.maven.org/maven2/org/openjdk/jmh/jmh-core/$JMH_VERSION/$JMH_CORE"
+JMH_ANNPROCESS="jmh-generator-annprocess-$JMH_VERSION.jar"
+JMH_ANNPROCESS_URL="https://repo1.maven.org/maven2/org/openjdk/jmh/jmh-generator-annprocess/$JMH_VERSION/$JMH_ANNPROCESS"
+JOPT_SIMPLE="jopt-simple-5.0.4.jar"
+JOPT_SIMPLE_URL="https://repo1.maven.org/maven2/net/sf/jopt-simple/jopt-simple/5.0.4/$JOPT_SIMPLE"
+COMMONS_MATH="commons-math3-3.6.1.jar"
+COMMONS_MATH_URL="https://repo1.maven.org/maven2/org/apache/commons/commons-math3/3.6.1/$COMMONS_MATH"
+JMH_CLASSPATH="$JMH_CORE:$JOPT_SIMPLE:$COMMONS_MATH"
 SRC_DIR="src"
 BUILD_DIR="build"
 TEST_BUILD_DIR="build/test"
+BENCH_BUILD_DIR="build/bench"
+BENCH_RESULTS_DIR="bench-results"
 
 # Function to print colored output
 print_status() {
@@ -74,6 +91,11 @@ download_dependencies() {
     else
         print_success "SQLite JDBC driver already present"
     fi
+    if [ ! -f "$SLF4J_API" ]; then
+        print_status "Downloading SLF4J API..."
+        curl -o "$SLF4J_API" "$SLF4J_API_URL"
+        print_success "SLF4J API downloaded"
+    fi
     
     # Download JUnit 5
     if [ ! -f "$JUNIT_PLATFORM" ]; then
@@ -85,6 +107,22 @@ download_dependencies() {
     fi
 }
 
+# Download the JMH harness if not present
+download_jmh_dependencies() {
+    print_status "Checking benchmark dependencies..."
+
+    for pair in "$JMH_CORE|$JMH_CORE_URL" "$JMH_ANNPROCESS|$JMH_ANNPROCESS_URL" \
+                "$JOPT_SIMPLE|$JOPT_SIMPLE_URL" "$COMMONS_MATH|$COMMONS_MATH_URL"; do
+        jar="${pair%%|*}"
+        url="${pair#*|}"
+        if [ ! -f "$jar" ]; then
+            print_status "Downloading $jar..."
+            curl -o "$jar" "$url"
+        fi
+    done
+    print_success "JMH dependencies present"
+}
+
 # Compile the Java source files
 compile_code() {
     print_status "Compiling Java source files..."
@@ -101,7 +139,7 @@ compile_code() {
     fi
     
     # Compile main source files
-    javac -cp ".:$SQLITE_JAR" -d "$BUILD_DIR" $MAIN_FILES
+    javac -cp ".:$SQLITE_CLASSPATH" -d "$BUILD_DIR" $MAIN_FILES
     
     print_success "Main compilation successful!"
     
@@ -122,7 +160,7 @@ compile_tests() {
     
     if [ -n "$TEST_FILES" ]; then
         # Compile test files with JUnit in classpath
-        javac -cp ".:$BUILD_DIR:$JUNIT_PLATFORM:$SQLITE_JAR" -d "$TEST_BUILD_DIR" $TEST_FILES
+        javac -cp ".:$BUILD_DIR:$JUNIT_PLATFORM:$SQLITE_CLASSPATH" -d "$TEST_BUILD_DIR" $TEST_FILES
         print_success "Test compilation successful!"
     else
         print_warning "No test files found"
@@ -147,15 +185,21 @@ run() {
     if [ -t 0 ]; then
         # Interactive mode - stdin is a terminal
         echo ""
-        java -cp "$BUILD_DIR:$SQLITE_JAR" com.studytracker.Main
+        java -cp "$BUILD_DIR:$SQLITE_CLASSPATH" com.studytracker.Main
     else
         # Non-interactive mode
         print_warning "Running in non-interactive mode. For full functionality, run directly in terminal."
         echo ""
-        java -cp "$BUILD_DIR:$SQLITE_JAR" com.studytracker.Main
+        java -cp "$BUILD_DIR:$SQLITE_CLASSPATH" com.studytracker.Main
     fi
 }
 
+# Run the command server (see CommandServer) until interrupted
+serve() {
+    print_status "Starting Study Session Tracker server..."
+    java -cp "$BUILD_DIR:$SQLITE_CLASSPATH" com.studytracker.Main serve "$@"
+}
+
 # Run tests
 test() {
     print_status "Running tests..."
@@ -174,7 +218,7 @@ test() {
     
     # Run JUnit tests
     if [ -f "$JUNIT_PLATFORM" ]; then
-        java -jar "$JUNIT_PLATFORM" --class-path "$BUILD_DIR:$TEST_BUILD_DIR:$SQLITE_JAR" \
+        java -jar "$JUNIT_PLATFORM" --class-path "$BUILD_DIR:$TEST_BUILD_DIR:$SQLITE_CLASSPATH" \
             --scan-class-path "$TEST_BUILD_DIR" \
             --reports-dir="test-reports"
         print_success "Test execution complete!"
@@ -183,6 +227,50 @@ test() {
     fi
 }
 
+# Compile everything in src/bench; the JMH annotation processor generates the
+# benchmark harness classes alongside them
+compile_bench() {
+    print_status "Compiling benchmarks..."
+
+    download_jmh_dependencies
+    mkdir -p "$BENCH_BUILD_DIR"
+
+    BENCH_FILES=$(find $SRC_DIR/bench -name "*.java" 2>/dev/null || echo "")
+
+    if [ -z "$BENCH_FILES" ]; then
+        print_error "No benchmark files found in $SRC_DIR/bench"
+        exit 1
+    fi
+
+    javac -cp ".:$BUILD_DIR:$SQLITE_CLASSPATH:$JMH_CLASSPATH:$JMH_ANNPROCESS" -d "$BENCH_BUILD_DIR" $BENCH_FILES
+    print_success "Benchmark compilation successful!"
+}
+
+# Run a plain benchmark harness (a class with a main method) from src/bench
+bench() {
+    compile_bench
+
+    BENCH_CLASS="${1:-LookupBenchmark}"
+    if [ $# -gt 0 ]; then
+        shift
+    fi
+    print_status "Running $BENCH_CLASS..."
+    java -cp "$BUILD_DIR:$BENCH_BUILD_DIR:$SQLITE_CLASSPATH" "com.studytracker.$BENCH_CLASS" "$@"
+}
+
+# Run JMH benchmarks; all arguments are passed to the JMH runner.
+# Results are kept as JSON in bench-results/, one file per run, for comparing runs.
+jmh() {
+    compile_bench
+
+    mkdir -p "$BENCH_RESULTS_DIR"
+    RESULT_FILE="$BENCH_RESULTS_DIR/jmh-$(date +%Y%m%d-%H%M%S).json"
+    print_status "Running JMH benchmarks (results go to $RESULT_FILE)..."
+    java -cp "$BUILD_DIR:$BENCH_BUILD_DIR:$SQLITE_CLASSPATH:$JMH_CLASSPATH" org.openjdk.jmh.Main \
+        -rf json -rff "$RESULT_FILE" "$@"
+    print_success "Benchmark results written to $RESULT_FILE"
+}
+
 # Show usage information
 usage() {
     echo "Study Session Tracker Build Script"
@@ -192,14 +280,22 @@ usage() {
     echo "Commands:"
     echo "  build    - Download dependencies and compile code"
     echo "  run      - Run the application"
+    echo "  serve    - Run the command server on localhost (default port: 7070)"
     echo "  clean    - Clean build artifacts"
     echo "  test     - Run JUnit tests"
+    echo "  bench    - Run a benchmark from src/bench (default: LookupBenchmark)"
+    echo "  jmh      - Run JMH benchmarks, results as JSON in $BENCH_RESULTS_DIR/"
     echo "  help     - Show this help message"
     echo ""
     echo "Examples:"
     echo "  $0 build    # Build the project"
     echo "  $0 run      # Run the application"
     echo "  $0 test     # Run tests"
+    echo "  $0 serve 7070       # Serve the tracker to local clients"
+    echo "  $0 bench LookupBenchmark  # Run a benchmark"
+    echo "  $0 bench CommandServerLoadTest 64 10  # Load-test the server"
+    echo "  $0 jmh              # Run the whole JMH suite"
+    echo "  $0 jmh TrackerBenchmark -p sessionCount=100000  # Run part of it"
     echo "  $0 clean    # Clean and rebuild: $0 clean && $0 build"
 }
 
@@ -220,12 +316,42 @@ case "${1:-build}" in
         fi
         run
         ;;
+    "serve")
+        if [ ! -d "$BUILD_DIR" ]; then
+            print_warning "No build found. Building first..."
+            check_java
+            download_dependencies
+            compile_code
+        fi
+        shift
+        serve "$@"
+        ;;
     "clean")
         clean
         ;;
     "test")
         test
         ;;
+    "bench")
+        if [ ! -d "$BUILD_DIR" ]; then
+            print_warning "No build found. Building first..."
+            check_java
+            download_dependencies
+            compile_code
+        fi
+        shift
+        bench "$@"
+        ;;
+    "jmh")
+        if [ ! -d "$BUILD_DIR" ]; then
+            print_warning "No build found. Building first..."
+            check_java
+            download_dependencies
+            compile_code
+        fi
+        shift
+        jmh "$@"
+        ;;
     "help"|"-h"|"--help")
         usage
         ;;
@@ -0,0 +1,115 @@
+package com.studytracker;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Closed-loop load test for CommandServer: each client thread holds one
+// connection and sends a request as soon as the previous reply arrives.
+// The mix is 80% ADD, 15% STATS and 5% SUBJECT (a streamed list).
+// Prints requests/sec and latency percentiles after a warm-up period.
+//   ./build.sh bench CommandServerLoadTest [clients] [seconds] [host:port]
+// Without host:port an in-process server on a free port is used.
+public class CommandServerLoadTest {
+    private static final int SUBJECTS = 500;
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        CommandServer server = null;
+        String host = "127.0.0.1";
+        int port;
+        if (args.length > 2) {
+            String[] address = args[2].split(":");
+            host = address[0];
+            port = Integer.parseInt(address[1]);
+        } else {
+            server = new CommandServer(new ConcurrentStudyTracker(), null);
+            port = server.start(0);
+        }
+
+        System.out.println("=== CommandServer load test: " + clients + " clients, " + seconds + "s ===");
+        LatencyHistogram latency = new LatencyHistogram();
+        AtomicLong requests = new AtomicLong();
+        long warmupNanos = Math.max(1, seconds / 5) * 1_000_000_000L;
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + warmupNanos + seconds * 1_000_000_000L;
+
+        List<Thread> threads = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            long seed = c;
+            String serverHost = host;
+            Thread thread = new Thread(() -> runClient(serverHost, port, seed, startNanos + warmupNanos, endNanos, latency, requests));
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        LatencySummary summary = latency.summarize();
+        System.out.printf("Requests/sec: %,.0f%n", requests.get() / (double) seconds);
+        System.out.printf("Latency (us): p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f%n",
+                summary.getP50() / 1000.0, summary.getP90() / 1000.0, summary.getP99() / 1000.0,
+                summary.getP999() / 1000.0, summary.getMax() / 1000.0);
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private static void runClient(String host, int port, long seed, long measureFrom, long endNanos,
+                                  LatencyHistogram latency, AtomicLong requests) {
+        Random random = new Random(seed);
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            while (true) {
+                long sent = System.nanoTime();
+                if (sent >= endNanos) {
+                    break;
+                }
+                int pick = random.nextInt(100);
+                String subject = "Subject " + random.nextInt(SUBJECTS);
+                boolean list = false;
+                if (pick < 80) {
+                    out.write("ADD 2024-01-01T08:00 " + (15 + random.nextInt(120)) + " " + (1 + random.nextInt(5)) + " " + subject + "\n");
+                } else if (pick < 95) {
+                    out.write("STATS\n");
+                } else {
+                    out.write("SUBJECT " + subject + "\n");
+                    list = true;
+                }
+                out.flush();
+
+                String reply = in.readLine();
+                if (reply == null || !reply.startsWith("OK")) {
+                    throw new IOException("Unexpected reply: " + reply);
+                }
+                if (list) {
+                    int count = Integer.parseInt(reply.substring(3));
+                    for (int i = 0; i < count; i++) {
+                        in.readLine();
+                    }
+                }
+                if (sent >= measureFrom) {
+                    latency.recordSince(sent);
+                    requests.incrementAndGet();
+                }
+            }
+            out.write("QUIT\n");
+            out.flush();
+        } catch (IOException e) {
+            System.out.println("Client " + seed + " failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.studytracker;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Throughput of ConcurrentStudyTracker against a StudyTracker guarded by one
+// lock, for different numbers of writer and reader threads.
+// Writers add sessions; readers take statistics and a subject and date query.
+// Run with: ./build.sh bench ContentionBenchmark [secondsPerRun]
+public class ContentionBenchmark {
+    private static final String[] SUBJECTS = {
+        "Math", "Physics", "Chemistry", "Biology", "History",
+        "English", "Spanish", "Computer Science", "Economics", "Art"
+    };
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 8, 0);
+    private static final int PRELOAD = 100_000;
+
+    // The operations both trackers are measured with
+    private interface Target {
+        void add(StudySession session);
+
+        long read(String subject, LocalDate date);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 2.0;
+        int[] writerCounts = {1, 2, 4, 8};
+        int[] readerCounts = {0, 2, 8};
+
+        System.out.println("=== Throughput in operations/second ===");
+        System.out.printf("%-12s %7s %7s %14s %14s%n", "tracker", "writers", "readers", "adds/s", "reads/s");
+        for (int writers : writerCounts) {
+            for (int readers : readerCounts) {
+                run("locked", lockedTracker(), writers, readers, seconds);
+                run("concurrent", concurrentTracker(), writers, readers, seconds);
+            }
+        }
+    }
+
+    private static Target lockedTracker() {
+        StudyTracker tracker = new StudyTracker();
+        Object lock = new Object();
+        Target target = new Target() {
+            @Override
+            public void add(StudySession session) {
+                synchronized (lock) {
+                    tracker.addSession(session);
+                }
+            }
+
+            @Override
+            public long read(String subject, LocalDate date) {
+                synchronized (lock) {
+                    return tracker.getTotalStudyMinutes() + tracker.getStudyStreak()
+                            + tracker.getSessionsBySubject(subject).size() + tracker.getSessionsOnDate(date).size();
+                }
+            }
+        };
+        preload(target);
+        return target;
+    }
+
+    private static Target concurrentTracker() {
+        ConcurrentStudyTracker tracker = new ConcurrentStudyTracker();
+        Target target = new Target() {
+            @Override
+            public void add(StudySession session) {
+                tracker.addSession(session);
+            }
+
+            @Override
+            public long read(String subject, LocalDate date) {
+                ConcurrentStudyTracker.Snapshot snapshot = tracker.snapshot();
+                return snapshot.getTotalStudyMinutes() + snapshot.getStudyStreak()
+                        + snapshot.getSessionsBySubject(subject).size() + snapshot.getSessionsOnDate(date).size();
+            }
+        };
+        preload(target);
+        return target;
+    }
+
+    private static void preload(Target target) {
+        Random random = new Random(42);
+        for (int i = 0; i < PRELOAD; i++) {
+            target.add(randomSession(random));
+        }
+    }
+
+    private static StudySession randomSession(Random random) {
+        LocalDateTime start = EPOCH.plusDays(random.nextInt(1000)).plusMinutes(random.nextInt(720));
+        return new StudySession(start, start.plusMinutes(15 + random.nextInt(120)),
+                SUBJECTS[random.nextInt(SUBJECTS.length)]);
+    }
+
+    private static void run(String name, Target target, int writers, int readers, double seconds)
+            throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder adds = new LongAdder();
+        LongAdder reads = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        ArrayList<Thread> threads = new ArrayList<>();
+
+        for (int w = 0; w < writers; w++) {
+            long seed = w;
+            threads.add(new Thread(() -> {
+                Random random = new Random(seed);
+                // Pre-build sessions so the loop measures the tracker, not the generator
+                StudySession[] batch = new StudySession[1024];
+                awaitStart(start);
+                while (running.get()) {
+                    for (int i = 0; i < batch.length; i++) {
+                        batch[i] = randomSession(random);
+                    }
+                    for (StudySession session : batch) {
+                        target.add(session);
+                    }
+                    adds.add(batch.length);
+                }
+            }));
+        }
+        for (int r = 0; r < readers; r++) {
+            long seed = 1000 + r;
+            threads.add(new Thread(() -> {
+                Random random = new Random(seed);
+                long sink = 0;
+                awaitStart(start);
+                while (running.get()) {
+                    sink += target.read(SUBJECTS[random.nextInt(SUBJECTS.length)],
+                            EPOCH.toLocalDate().plusDays(random.nextInt(1000)));
+                    reads.increment();
+                }
+                if (sink == 42) {
+                    System.out.println();
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        Thread.sleep((long) (seconds * 1000));
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        System.out.printf("%-12s %7d %7d %14.0f %14.0f%n", name, writers, readers,
+                adds.sum() / seconds, reads.sum() / seconds);
+    }
+
+    private static void awaitStart(CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
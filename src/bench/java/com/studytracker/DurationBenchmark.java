@@ -0,0 +1,79 @@
+package com.studytracker;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Checks that reading a session's duration and summing durations over a
+// tracker's sessions don't allocate. Run with the GC profiler to see the
+// per-operation allocation rate (gc.alloc.rate.norm):
+//   ./build.sh jmh DurationBenchmark -prof gc
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DurationBenchmark {
+    @Param({"10000"})
+    public int sessionCount;
+
+    private StudySession session;
+    private ArrayList<StudySession> sessions;
+    private StudyTracker tracker;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 15, 14, 0);
+        session = new StudySession(start, start.plusMinutes(90), "Math");
+
+        Random random = new Random(42);
+        sessions = new ArrayList<>(sessionCount);
+        tracker = new StudyTracker();
+        for (int i = 0; i < sessionCount; i++) {
+            LocalDateTime s = start.plusDays(random.nextInt(365)).plusMinutes(random.nextInt(720));
+            StudySession generated = new StudySession(s, s.plusMinutes(15 + random.nextInt(120)), "Math");
+            sessions.add(generated);
+            tracker.addSession(generated);
+        }
+    }
+
+    @Benchmark
+    public int cachedDuration() {
+        return session.getDurationInMinutes();
+    }
+
+    // What getDurationInMinutes used to do on every call, for comparison
+    @Benchmark
+    public int durationBetween() {
+        return (int) Duration.between(session.getStartTime(), session.getEndTime()).toMinutes();
+    }
+
+    @Benchmark
+    public long sumDurations() {
+        long total = 0;
+        for (int i = 0; i < sessions.size(); i++) {
+            total += sessions.get(i).getDurationInMinutes();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double trackerStatistics() {
+        return tracker.getTotalStudyMinutes() + tracker.getAverageSessionLength() + tracker.getStudyStreak();
+    }
+}
@@ -0,0 +1,70 @@
+package com.studytracker;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Random;
+
+// File size and load time of the CSV format against the binary format.
+// Run with: ./build.sh bench FileFormatBenchmark [sessions]
+public class FileFormatBenchmark {
+    private static final String[] SUBJECTS = {
+        "Math", "Physics", "Chemistry", "Biology", "History",
+        "English", "Spanish", "Computer Science", "Economics", "Art"
+    };
+
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        ArrayList<StudySession> sessions = generate(size);
+
+        File csv = File.createTempFile("sessions", ".csv");
+        File binary = File.createTempFile("sessions", ".bin");
+        csv.deleteOnExit();
+        binary.deleteOnExit();
+        SimpleFileStorage csvStorage = new SimpleFileStorage(csv.getPath());
+        SimpleFileStorage binaryStorage = new SimpleFileStorage(binary.getPath());
+
+        System.out.println("=== " + size + " sessions ===");
+        System.out.printf("%-8s %12s %12s %12s%n", "format", "size (MB)", "save (ms)", "load (ms)");
+
+        long[] csvTimes = time(() -> csvStorage.saveSessions(sessions), () -> csvStorage.loadInto(new StudyTracker()));
+        long[] binaryTimes = time(() -> binaryStorage.saveSessionsBinary(sessions),
+                () -> binaryStorage.loadBinaryInto(new StudyTracker()));
+
+        System.out.printf("%-8s %12.1f %12d %12d%n", "csv", csv.length() / 1048576.0, csvTimes[0], csvTimes[1]);
+        System.out.printf("%-8s %12.1f %12d %12d%n", "binary", binary.length() / 1048576.0, binaryTimes[0], binaryTimes[1]);
+        System.out.printf("binary is %.1fx smaller and loads %.1fx faster%n",
+                (double) csv.length() / binary.length(), (double) csvTimes[1] / binaryTimes[1]);
+    }
+
+    // Best of three runs of save and load, in milliseconds
+    private static long[] time(Runnable save, Runnable load) {
+        long bestSave = Long.MAX_VALUE;
+        long bestLoad = Long.MAX_VALUE;
+        for (int run = 0; run < 3; run++) {
+            long t0 = System.nanoTime();
+            save.run();
+            long t1 = System.nanoTime();
+            load.run();
+            long t2 = System.nanoTime();
+            bestSave = Math.min(bestSave, (t1 - t0) / 1_000_000);
+            bestLoad = Math.min(bestLoad, (t2 - t1) / 1_000_000);
+        }
+        return new long[] {bestSave, bestLoad};
+    }
+
+    private static ArrayList<StudySession> generate(int size) {
+        Random random = new Random(42);
+        LocalDateTime epoch = LocalDateTime.of(2020, 1, 1, 8, 0);
+        ArrayList<StudySession> sessions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LocalDateTime start = epoch.plusDays(random.nextInt(1500)).plusMinutes(random.nextInt(720));
+            StudySession session = new StudySession(start, start.plusMinutes(15 + random.nextInt(120)),
+                    SUBJECTS[random.nextInt(SUBJECTS.length)]);
+            session.setDifficulty(1 + random.nextInt(5));
+            sessions.add(session);
+        }
+        return sessions;
+    }
+}
@@ -0,0 +1,81 @@
+package com.studytracker;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+// Measures how subject, date and date-range lookups scale with the number of
+// sessions in the tracker. Run with: ./build.sh bench LookupBenchmark
+public class LookupBenchmark {
+    private static final String[] SUBJECTS = {
+        "Math", "Physics", "Chemistry", "Biology", "History",
+        "English", "Spanish", "Computer Science", "Economics", "Art"
+    };
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 8, 0);
+    private static final int DAYS = 1000;
+    private static final int QUERIES = 2000;
+
+    public static void main(String[] args) {
+        int[] sizes = {1_000, 10_000, 100_000, 1_000_000};
+
+        System.out.println("=== Lookup latency vs. session count ===");
+        System.out.printf("%10s %16s %16s %16s%n", "sessions", "bySubject (us)", "onDate (us)", "between7d (us)");
+
+        for (int size : sizes) {
+            StudyTracker tracker = build(size, new Random(42));
+            Random random = new Random(7);
+
+            // Warm up before timing
+            long sink = run(tracker, random, QUERIES);
+
+            long bySubject = 0;
+            long onDate = 0;
+            long between = 0;
+            for (int i = 0; i < QUERIES; i++) {
+                String subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+                LocalDate date = EPOCH.toLocalDate().plusDays(random.nextInt(DAYS));
+
+                long t0 = System.nanoTime();
+                sink += tracker.getSessionsBySubject(subject).size();
+                long t1 = System.nanoTime();
+                sink += tracker.getSessionsOnDate(date).size();
+                long t2 = System.nanoTime();
+                sink += tracker.getSessionsBetween(date, date.plusDays(6)).size();
+                long t3 = System.nanoTime();
+
+                bySubject += t1 - t0;
+                onDate += t2 - t1;
+                between += t3 - t2;
+            }
+
+            System.out.printf("%10d %16.2f %16.2f %16.2f%n", size,
+                    bySubject / 1000.0 / QUERIES,
+                    onDate / 1000.0 / QUERIES,
+                    between / 1000.0 / QUERIES);
+            if (sink == 42) {
+                System.out.println();
+            }
+        }
+    }
+
+    private static StudyTracker build(int size, Random random) {
+        StudyTracker tracker = new StudyTracker();
+        for (int i = 0; i < size; i++) {
+            LocalDateTime start = EPOCH.plusDays(random.nextInt(DAYS)).plusMinutes(random.nextInt(720));
+            LocalDateTime end = start.plusMinutes(15 + random.nextInt(120));
+            tracker.addSession(new StudySession(start, end, SUBJECTS[random.nextInt(SUBJECTS.length)]));
+        }
+        return tracker;
+    }
+
+    private static long run(StudyTracker tracker, Random random, int queries) {
+        long sink = 0;
+        for (int i = 0; i < queries; i++) {
+            LocalDate date = EPOCH.toLocalDate().plusDays(random.nextInt(DAYS));
+            sink += tracker.getSessionsBySubject(SUBJECTS[random.nextInt(SUBJECTS.length)]).size();
+            sink += tracker.getSessionsOnDate(date).size();
+            sink += tracker.getSessionsBetween(date, date.plusDays(6)).size();
+        }
+        return sink;
+    }
+}
@@ -0,0 +1,95 @@
+package com.studytracker;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Random;
+
+// Compares retained heap of a plain list of sessions with and without subject
+// interning (SubjectDictionary), a tracker backed by ListSessionStore (one
+// StudySession object per row) and one backed by ColumnarSessionStore.
+// Run with: ./build.sh bench MemoryFootprintBenchmark [sessions]
+// Give the JVM enough heap for the list layout, e.g. JAVA_TOOL_OPTIONS=-Xmx4g
+public class MemoryFootprintBenchmark {
+    private static final String[] SUBJECTS = {
+        "Math", "Physics", "Chemistry", "Biology", "History",
+        "English", "Spanish", "Computer Science", "Economics", "Art"
+    };
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 8, 0);
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        System.out.println("=== Retained heap for " + size + " sessions ===");
+        long raw = measureList(size, null);
+        long interned = measureList(size, new SubjectDictionary());
+        long list = measure(size, false);
+        long columnar = measure(size, true);
+
+        print("Uninterned list", raw, size);
+        print("Interned list", interned, size);
+        print("ListSessionStore", list, size);
+        print("ColumnarSessionStore", columnar, size);
+        System.out.printf("Interning subjects saves %.1f MB (%.1f bytes/session)%n",
+                (raw - interned) / 1048576.0, (double) (raw - interned) / size);
+        System.out.printf("Columnar layout uses %.1fx less heap than ListSessionStore%n", (double) list / columnar);
+    }
+
+    private static void print(String name, long bytes, int size) {
+        System.out.printf("%-22s %10.1f MB %8.1f bytes/session%n", name, bytes / 1048576.0, (double) bytes / size);
+    }
+
+    // A plain list of sessions, with subjects interned through `subjects` if given
+    private static long measureList(int size, SubjectDictionary subjects) {
+        long before = usedHeap();
+        ArrayList<StudySession> sessions = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            StudySession session = newSession(random);
+            if (subjects != null) {
+                session.setSubject(subjects.intern(session.getSubject()));
+            }
+            sessions.add(session);
+        }
+        long after = usedHeap();
+        if (sessions.get(size / 2).getDifficulty() == 42) {
+            System.out.println();
+        }
+        return after - before;
+    }
+
+    private static long measure(int size, boolean columnar) {
+        long before = usedHeap();
+        StudyTracker tracker = columnar ? new StudyTracker(new ColumnarSessionStore(size)) : new StudyTracker();
+        Random random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            tracker.addSession(newSession(random));
+        }
+        long after = usedHeap();
+        if (tracker.getTotalStudyMinutes() == 42) {
+            System.out.println();
+        }
+        return after - before;
+    }
+
+    private static StudySession newSession(Random random) {
+        LocalDateTime start = EPOCH.plusDays(random.nextInt(1000)).plusMinutes(random.nextInt(720));
+        LocalDateTime end = start.plusMinutes(15 + random.nextInt(120));
+        // A fresh String per row, the way loaded or typed-in subjects arrive
+        StudySession session = new StudySession(start, end, new String(SUBJECTS[random.nextInt(SUBJECTS.length)].toCharArray()));
+        session.setDifficulty(1 + random.nextInt(5));
+        return session;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
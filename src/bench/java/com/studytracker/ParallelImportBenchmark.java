@@ -0,0 +1,77 @@
+package com.studytracker;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+// Import throughput of SimpleFileStorage.loadParallel as the pool grows, against
+// the single-threaded streaming loader. Generates a fixture file first.
+// Run with: ./build.sh bench ParallelImportBenchmark [fixtureMB]
+// Give the JVM room for the loaded sessions, e.g. JAVA_TOOL_OPTIONS=-Xmx16g
+public class ParallelImportBenchmark {
+    private static final String[] SUBJECTS = {
+        "Math", "Physics", "Chemistry", "Biology", "History",
+        "English", "Spanish", "Computer Science", "Economics", "Art"
+    };
+
+    public static void main(String[] args) throws IOException {
+        long fixtureMb = args.length > 0 ? Long.parseLong(args[0]) : 2048;
+        File fixture = File.createTempFile("sessions-fixture", ".csv");
+        fixture.deleteOnExit();
+        writeFixture(fixture, fixtureMb << 20);
+        double megabytes = fixture.length() / 1048576.0;
+        SimpleFileStorage storage = new SimpleFileStorage(fixture.getPath());
+
+        System.out.printf("=== Import of %.0f MB fixture ===%n", megabytes);
+        System.out.printf("%-14s %10s %10s%n", "mode", "seconds", "MB/s");
+
+        // Warm up both paths on the same file
+        storage.loadParallel(new StudyTracker());
+
+        long t0 = System.nanoTime();
+        storage.loadInto(new StudyTracker());
+        report("sequential", megabytes, System.nanoTime() - t0);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        ArrayList<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < cores; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(cores);
+
+        for (int threads : threadCounts) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            System.gc();
+            long start = System.nanoTime();
+            storage.loadParallel(new StudyTracker(), pool);
+            report("parallel x" + threads, megabytes, System.nanoTime() - start);
+            pool.shutdown();
+        }
+    }
+
+    private static void report(String mode, double megabytes, long nanos) {
+        double seconds = nanos / 1e9;
+        System.out.printf("%-14s %10.2f %10.1f%n", mode, seconds, megabytes / seconds);
+    }
+
+    private static void writeFixture(File file, long targetBytes) throws IOException {
+        Random random = new Random(42);
+        LocalDateTime epoch = LocalDateTime.of(2020, 1, 1, 8, 0);
+        long written = 0;
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(file), 1 << 16))) {
+            while (written < targetBytes) {
+                LocalDateTime start = epoch.plusDays(random.nextInt(1500)).plusMinutes(random.nextInt(720));
+                LocalDateTime end = start.plusMinutes(15 + random.nextInt(120));
+                String line = start + "," + end + "," + SUBJECTS[random.nextInt(SUBJECTS.length)];
+                writer.println(line);
+                written += line.length() + 1;
+            }
+        }
+    }
+}
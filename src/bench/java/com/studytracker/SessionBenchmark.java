@@ -0,0 +1,76 @@
+package com.studytracker;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Per-session costs: the duration getter, toString and SessionRenderer
+// listings, over a rotating set of generated sessions so the JIT can't fold a
+// single constant session.
+//   ./build.sh jmh SessionBenchmark -prof gc
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionBenchmark {
+    private static final int SESSIONS = 4096;
+
+    @Param({"10", "500"})
+    public int subjectCount;
+
+    private ArrayList<StudySession> sessions;
+    private int next;
+    private final SessionRenderer renderer = new SessionRenderer(StandardCharsets.UTF_8);
+    private final SessionRenderer cachingRenderer = new SessionRenderer(StandardCharsets.UTF_8);
+
+    @Setup
+    public void setUp() {
+        sessions = new SessionGenerator(42, subjectCount).generate(SESSIONS);
+        cachingRenderer.setCacheLines(true);
+    }
+
+    private StudySession nextSession() {
+        next = (next + 1) & (SESSIONS - 1);
+        return sessions.get(next);
+    }
+
+    @Benchmark
+    public int getDurationInMinutes() {
+        return nextSession().getDurationInMinutes();
+    }
+
+    @Benchmark
+    public String sessionToString() {
+        return nextSession().toString();
+    }
+
+    // Whole listing through SessionRenderer into a discarding stream, per session
+    @Benchmark
+    @OperationsPerInvocation(SESSIONS)
+    public long renderListing() throws IOException {
+        return renderer.render(sessions, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SESSIONS)
+    public long renderListingCached() throws IOException {
+        return cachingRenderer.render(sessions, OutputStream.nullOutputStream());
+    }
+}
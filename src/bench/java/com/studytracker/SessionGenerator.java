@@ -0,0 +1,64 @@
+package com.studytracker;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Random;
+
+// Seeded synthetic sessions for benchmarks: the same seed, count and subject
+// cardinality always give the same sessions. Sessions start between 06:00 and
+// 22:00 on a day within `days` of 2020-01-01 and last 15 to 180 minutes.
+public class SessionGenerator {
+    public static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+
+    private final Random random;
+    private final String[] subjects;
+    private final int days;
+
+    public SessionGenerator(long seed, int subjectCount, int days) {
+        this.random = new Random(seed);
+        this.subjects = subjectNames(subjectCount);
+        this.days = days;
+    }
+
+    public SessionGenerator(long seed, int subjectCount) {
+        this(seed, subjectCount, 1500);
+    }
+
+    public static String[] subjectNames(int subjectCount) {
+        String[] names = new String[subjectCount];
+        for (int i = 0; i < subjectCount; i++) {
+            names[i] = "Subject " + i;
+        }
+        return names;
+    }
+
+    public StudySession next() {
+        LocalDateTime start = FIRST_DAY.plusDays(random.nextInt(days)).atTime(6, 0)
+                .plusMinutes(random.nextInt(16 * 60));
+        LocalDateTime end = start.plusMinutes(15 + random.nextInt(166));
+        // A fresh String, the way subjects arrive from files or user input
+        StudySession session = new StudySession(start, end, new String(subjects[random.nextInt(subjects.length)]));
+        session.setDifficulty(1 + random.nextInt(5));
+        if (random.nextInt(4) == 0) {
+            session.setNotes("Reviewed chapter " + (1 + random.nextInt(30)));
+        }
+        return session;
+    }
+
+    public ArrayList<StudySession> generate(int count) {
+        ArrayList<StudySession> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            sessions.add(next());
+        }
+        return sessions;
+    }
+
+    public String randomSubject() {
+        return subjects[random.nextInt(subjects.length)];
+    }
+
+    public LocalDate randomDay() {
+        return FIRST_DAY.plusDays(random.nextInt(days));
+    }
+}
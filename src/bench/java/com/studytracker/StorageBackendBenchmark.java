@@ -0,0 +1,82 @@
+package com.studytracker;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+// The CSV file backend against the SQLite backend through SessionStorage:
+// a full save, a full load and three queries. SQLite answers the queries in
+// SQL; the CSV backend has to scan the whole file for each one. Both must
+// return the same number of sessions and minutes, or the run fails: the
+// generated sessions always have a subject, so nothing the CSV format can't
+// hold changes the answers.
+// Run with: ./build.sh bench StorageBackendBenchmark [sessions] [subjects]
+public class StorageBackendBenchmark {
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int subjectCount = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        ArrayList<StudySession> sessions = new SessionGenerator(42, subjectCount).generate(size);
+        String subject = SessionGenerator.subjectNames(subjectCount)[0];
+        LocalDate from = SessionGenerator.FIRST_DAY.plusDays(100);
+        LocalDate to = from.plusDays(6);
+
+        File directory = File.createTempFile("storage-backends", "");
+        directory.delete();
+        directory.mkdirs();
+        SimpleFileStorage csv = new SimpleFileStorage(new File(directory, "sessions.csv").getPath());
+        try (SqliteSessionStorage sqlite = new SqliteSessionStorage(new File(directory, "sessions.db").getPath())) {
+            System.out.println("=== " + size + " sessions, " + subjectCount + " subjects ===");
+            System.out.printf("%-8s %10s %10s %12s %12s %12s%n",
+                    "backend", "save (ms)", "load (ms)", "subject (ms)", "week (ms)", "total (ms)");
+            long[] csvResults = run("csv", csv, sessions, subject, from, to);
+            long[] sqliteResults = run("sqlite", sqlite, sessions, subject, from, to);
+            if (!Arrays.equals(csvResults, sqliteResults)) {
+                throw new IllegalStateException("Backends disagree (loaded, subject, week, total minutes): csv "
+                        + Arrays.toString(csvResults) + ", sqlite " + Arrays.toString(sqliteResults));
+            }
+        } finally {
+            File[] files = directory.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+            directory.delete();
+        }
+    }
+
+    // Times each operation and returns what it found: sessions loaded, subject
+    // matches, sessions in the week and total minutes
+    private static long[] run(String name, SessionStorage storage, ArrayList<StudySession> sessions,
+                              String subject, LocalDate from, LocalDate to) {
+        long save = best(() -> {
+            storage.saveSessions(sessions);
+            return null;
+        });
+        long load = best(() -> storage.loadInto(new StudyTracker()));
+        long bySubject = best(() -> storage.getSessionsBySubject(subject));
+        long week = best(() -> storage.getSessionsBetween(from, to));
+        long total = best(storage::getTotalStudyMinutes);
+        System.out.printf("%-8s %10d %10d %12d %12d %12d%n", name, save, load, bySubject, week, total);
+        return new long[] {
+            storage.loadSessions(session -> { }).getLoadedSessions(),
+            storage.getSessionsBySubject(subject).size(),
+            storage.getSessionsBetween(from, to).size(),
+            storage.getTotalStudyMinutes()
+        };
+    }
+
+    // Best of three runs, in milliseconds
+    private static long best(Supplier<?> action) {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            action.get();
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,96 @@
+package com.studytracker;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// SimpleFileStorage save and load in both file formats. Load benchmarks read
+// files written once per trial; save benchmarks overwrite their own files.
+//   ./build.sh jmh StorageBenchmark
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageBenchmark {
+    @Param({"10000", "200000"})
+    public int sessionCount;
+
+    @Param({"10", "500"})
+    public int subjectCount;
+
+    private ArrayList<StudySession> sessions;
+    private File directory;
+    private SimpleFileStorage csvIn;
+    private SimpleFileStorage binaryIn;
+    private SimpleFileStorage csvOut;
+    private SimpleFileStorage binaryOut;
+
+    @Setup
+    public void setUp() throws IOException {
+        sessions = new SessionGenerator(42, subjectCount).generate(sessionCount);
+        directory = File.createTempFile("storage-bench", "");
+        directory.delete();
+        directory.mkdirs();
+
+        csvIn = new SimpleFileStorage(new File(directory, "in.csv").getPath());
+        binaryIn = new SimpleFileStorage(new File(directory, "in.bin").getPath());
+        csvOut = new SimpleFileStorage(new File(directory, "out.csv").getPath());
+        binaryOut = new SimpleFileStorage(new File(directory, "out.bin").getPath());
+        csvIn.saveSessions(sessions);
+        binaryIn.saveSessionsBinary(sessions);
+    }
+
+    @TearDown
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Benchmark
+    public void saveCsv() {
+        csvOut.saveSessions(sessions);
+    }
+
+    @Benchmark
+    public ArrayList<StudySession> loadCsv() {
+        return csvIn.loadSessions();
+    }
+
+    @Benchmark
+    public StudyTracker loadCsvParallelIntoTracker() {
+        StudyTracker tracker = new StudyTracker();
+        csvIn.loadParallel(tracker);
+        return tracker;
+    }
+
+    @Benchmark
+    public void saveBinary() {
+        binaryOut.saveSessionsBinary(sessions);
+    }
+
+    @Benchmark
+    public ArrayList<StudySession> loadBinary() {
+        return binaryIn.loadSessionsBinary();
+    }
+}
@@ -0,0 +1,149 @@
+package com.studytracker;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// StudyTracker add, query and statistics paths over trackers of different
+// sizes and subject cardinalities.
+//   ./build.sh jmh TrackerBenchmark
+//   ./build.sh jmh TrackerBenchmark -p sessionCount=1000000 -p subjectCount=500
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrackerBenchmark {
+    private static final int QUERY_KEYS = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    public int sessionCount;
+
+    @Param({"10", "500"})
+    public int subjectCount;
+
+    private StudyTracker tracker;
+    private String[] subjects;
+    private LocalDate[] days;
+    private int next;
+
+    // Sessions fed to addSession, and the tracker they go into
+    private ArrayList<StudySession> toAdd;
+    private StudyTracker growing;
+    private int added;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SessionGenerator generator = new SessionGenerator(42, subjectCount);
+        tracker = new StudyTracker();
+        for (StudySession session : generator.generate(sessionCount)) {
+            tracker.addSession(session);
+        }
+
+        SessionGenerator keys = new SessionGenerator(7, subjectCount);
+        subjects = new String[QUERY_KEYS];
+        days = new LocalDate[QUERY_KEYS];
+        for (int i = 0; i < QUERY_KEYS; i++) {
+            subjects[i] = keys.randomSubject();
+            days[i] = keys.randomDay();
+        }
+
+        toAdd = new SessionGenerator(99, subjectCount).generate(Math.max(sessionCount, 100_000));
+    }
+
+    @Setup(Level.Iteration)
+    public void resetGrowingTracker() {
+        growing = new StudyTracker();
+        added = 0;
+    }
+
+    private int nextKey() {
+        next = (next + 1) & (QUERY_KEYS - 1);
+        return next;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void addSession() {
+        if (added == toAdd.size()) {
+            growing = new StudyTracker();
+            added = 0;
+        }
+        growing.addSession(toAdd.get(added++));
+    }
+
+    // A whole batch into an empty tracker, versus toAdd.size() addSession calls
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public BatchReport addAll() {
+        return new StudyTracker().addAll(toAdd);
+    }
+
+    @Benchmark
+    public List<StudySession> getAllSessions() {
+        return tracker.getAllSessions();
+    }
+
+    @Benchmark
+    public List<StudySession> getSessionsBySubject() {
+        return tracker.getSessionsBySubject(subjects[nextKey()]);
+    }
+
+    @Benchmark
+    public List<StudySession> getSessionsOnDate() {
+        return tracker.getSessionsOnDate(days[nextKey()]);
+    }
+
+    @Benchmark
+    public List<StudySession> getSessionsBetweenWeek() {
+        LocalDate from = days[nextKey()];
+        return tracker.getSessionsBetween(from, from.plusDays(6));
+    }
+
+    @Benchmark
+    public List<StudySession> getSessionsOverlappingAfternoon() {
+        LocalDate day = days[nextKey()];
+        return tracker.getSessionsOverlapping(day.atTime(14, 0), day.atTime(16, 0));
+    }
+
+    @Benchmark
+    public int getTotalStudyMinutes() {
+        return tracker.getTotalStudyMinutes();
+    }
+
+    @Benchmark
+    public double getAverageSessionLength() {
+        return tracker.getAverageSessionLength();
+    }
+
+    @Benchmark
+    public int getStudyStreak() {
+        return tracker.getStudyStreak();
+    }
+
+    @Benchmark
+    public SessionStatistics computeStatisticsSequential() {
+        return SessionStatistics.compute(tracker.sessionsView());
+    }
+
+    @Benchmark
+    public SessionStatistics computeStatisticsParallel() {
+        return tracker.computeStatistics();
+    }
+}
@@ -0,0 +1,48 @@
+package com.studytracker;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Read-only CharSequence view over a range of a ByteBuffer, one char per byte.
+// Lets TimestampParser work directly on memory-mapped file contents; any byte
+// outside ASCII simply fails to parse as a digit or separator.
+final class AsciiBytes implements CharSequence {
+    private final ByteBuffer buffer;
+    private int offset;
+    private int length;
+
+    AsciiBytes(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    // Point this view at buffer[from, to)
+    AsciiBytes reset(int from, int to) {
+        this.offset = from;
+        this.length = to - from;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (buffer.get(offset + index) & 0xff);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new AsciiBytes(buffer).reset(offset + start, offset + end);
+    }
+
+    @Override
+    public String toString() {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+}
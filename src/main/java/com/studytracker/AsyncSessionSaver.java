@@ -0,0 +1,288 @@
+package com.studytracker;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Keeps a binary snapshot file (see BinarySessionFormat) up to date with a
+// tracker without making the tracker's caller wait for disk.
+//
+// Once attached, the tracker reports every added session. The saver keeps its
+// own append-only array of them, and each one reports its own setter calls.
+// Every session added and every edit since the last successful write counts
+// as unsaved. A background thread writes copies of that array, taken under
+// the lock: a temp file is written and forced, then atomically renamed over
+// the snapshot, so a crash leaves either the old file or the new one.
+//
+//  - Coalescing: the first change after a save schedules a write
+//    `coalesceMillis` later, and everything added until the write starts goes
+//    into that one write.
+//  - Backpressure: if more than `maxUnsavedSessions` changes are unsaved, the
+//    add or setter call waits for the next write to finish, so a producer
+//    can't get unboundedly ahead of the disk.
+//  - Durability: flush() returns a future that completes once everything
+//    added before the call is on disk, or fails with the write's exception.
+public class AsyncSessionSaver implements Closeable {
+    public static final long DEFAULT_COALESCE_MILLIS = 200;
+    public static final int DEFAULT_MAX_UNSAVED_SESSIONS = 100_000;
+
+    private final Path file;
+    private final long coalesceMillis;
+    private final int maxUnsavedSessions;
+    private final ScheduledExecutorService writer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition writeFinished = lock.newCondition();
+    // Guarded by lock; the sessions themselves are copied before each write
+    private StudySession[] rows = new StudySession[1024];
+    private int size;
+    private int savedSize;
+    // Setter calls on saved sessions; edits - savedEdits are unsaved
+    private long edits;
+    private long savedEdits;
+    private boolean scheduled;
+    private long finishedWrites;
+    // The write in progress (null when idle), and the rows and edits it covers
+    private CompletableFuture<Void> inFlight;
+    private int inFlightSize;
+    private long inFlightEdits;
+    // Completed by the next write to start
+    private CompletableFuture<Void> nextWrite = new CompletableFuture<>();
+
+    public AsyncSessionSaver(String filename) {
+        this(filename, DEFAULT_COALESCE_MILLIS, DEFAULT_MAX_UNSAVED_SESSIONS);
+    }
+
+    public AsyncSessionSaver(String filename, long coalesceMillis, int maxUnsavedSessions) {
+        this.file = Paths.get(filename).toAbsolutePath();
+        this.coalesceMillis = Math.max(coalesceMillis, 0);
+        this.maxUnsavedSessions = Math.max(maxUnsavedSessions, 1);
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-saver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Load the snapshot file (if there is one) into the tracker, then save
+    // every session the tracker gets from now on
+    public LoadReport attach(StudyTracker tracker) throws IOException {
+        boolean wasEmpty = tracker.sessionsView().isEmpty();
+        LoadReport report = new LoadReport(0, 0);
+        if (Files.exists(file)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                report = BinarySessionFormat.read(channel, tracker::addSession, tracker.getSubjectDictionary());
+            }
+        }
+        lock.lock();
+        try {
+            for (StudySession session : tracker.sessionsView()) {
+                if (session != null) {
+                    append(session);
+                }
+            }
+            // Sessions the tracker already had aren't in the file, so everything is dirty then
+            savedSize = wasEmpty ? size : 0;
+            if (size > savedSize) {
+                schedule(coalesceMillis);
+            }
+        } finally {
+            lock.unlock();
+        }
+        tracker.setAsyncSaver(this);
+        return report;
+    }
+
+    // Called by the tracker for every session it adds
+    void sessionAdded(StudySession session) {
+        lock.lock();
+        try {
+            append(session);
+            changed();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called by StudySession setters once the session is in the array
+    void sessionChanged() {
+        lock.lock();
+        try {
+            edits++;
+            changed();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Completes when every session added so far is on disk
+    public CompletableFuture<Void> flush() {
+        lock.lock();
+        try {
+            if (!isDirty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            // The running write already has everything
+            if (inFlight != null && inFlightSize == size && inFlightEdits == edits) {
+                return inFlight;
+            }
+            schedule(0);
+            return nextWrite;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Sessions added plus edits made since the last successful write
+    public long getUnsavedCount() {
+        lock.lock();
+        try {
+            return unsaved();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Flush and stop the background thread
+    @Override
+    public void close() throws IOException {
+        try {
+            flush().join();
+        } catch (RuntimeException e) {
+            throw new IOException("Final save failed", e.getCause() != null ? e.getCause() : e);
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    private void append(StudySession session) {
+        if (size == rows.length) {
+            rows = Arrays.copyOf(rows, rows.length * 2);
+        }
+        rows[size++] = session;
+        session.setSaver(this);
+    }
+
+    private boolean isDirty() {
+        return size != savedSize || edits != savedEdits;
+    }
+
+    private long unsaved() {
+        return (size - savedSize) + (edits - savedEdits);
+    }
+
+    // Called with the lock held after any change
+    private void changed() {
+        if (unsaved() <= maxUnsavedSessions) {
+            schedule(coalesceMillis);
+            return;
+        }
+        // Too far behind: write now and wait for a write to finish
+        schedule(0);
+        long seen = finishedWrites;
+        while (finishedWrites == seen) {
+            writeFinished.awaitUninterruptibly();
+        }
+    }
+
+    // Called with the lock held. A write that's already scheduled picks up the
+    // new sessions too; a zero delay just adds one more, which finds nothing
+    // to do if an earlier one already wrote everything.
+    private void schedule(long delayMillis) {
+        if (scheduled && delayMillis > 0) {
+            return;
+        }
+        scheduled = true;
+        writer.schedule(this::writeSnapshot, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void writeSnapshot() {
+        StudySession[] snapshot = null;
+        int count;
+        long editCount;
+        CompletableFuture<Void> done;
+        lock.lock();
+        try {
+            scheduled = false;
+            done = nextWrite;
+            nextWrite = new CompletableFuture<>();
+            count = size;
+            editCount = edits;
+            if (isDirty()) {
+                snapshot = copyRows(count);
+                inFlight = done;
+                inFlightSize = count;
+                inFlightEdits = editCount;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (snapshot == null) {
+            // Nothing dirty: anyone waiting on this write already has their sessions on disk
+            done.complete(null);
+            return;
+        }
+
+        boolean written = false;
+        Exception failure = null;
+        try {
+            write(snapshot);
+            written = true;
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+        } finally {
+            lock.lock();
+            try {
+                if (written) {
+                    savedSize = count;
+                    savedEdits = editCount;
+                }
+                inFlight = null;
+                finishedWrites++;
+                writeFinished.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (written) {
+                done.complete(null);
+            } else {
+                done.completeExceptionally(failure != null ? failure : new IOException("Snapshot write did not finish"));
+            }
+        }
+    }
+
+    // Called with the lock held. The writer gets copies, so setters called
+    // while it runs can't change a session between the format's two passes.
+    // Every edit counted in `edits` made its change before taking the lock,
+    // so the copies include it; a setter still running may or may not be
+    // seen, but its edit isn't counted yet and gets the next write.
+    private StudySession[] copyRows(int count) {
+        StudySession[] copies = new StudySession[count];
+        for (int i = 0; i < count; i++) {
+            copies[i] = rows[i].copy();
+        }
+        return copies;
+    }
+
+    private void write(StudySession[] snapshot) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            BinarySessionFormat.write(channel, Arrays.asList(snapshot));
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,94 @@
+package com.studytracker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Outcome of StudyTracker.addAll: how many sessions went in, and which ones
+// were turned away and why
+public class BatchReport {
+    public enum Reason {
+        NULL_SESSION,
+        MISSING_TIME,        // no start or no end time
+        END_BEFORE_START,
+        DIFFICULTY_OUT_OF_RANGE,
+        EMPTY_SUBJECT        // null, empty or only whitespace
+    }
+
+    // One rejected session, by its position in the batch
+    public static class Rejection {
+        private final int index;
+        private final StudySession session;
+        private final Reason reason;
+
+        Rejection(int index, StudySession session, Reason reason) {
+            this.index = index;
+            this.session = session;
+            this.reason = reason;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public StudySession getSession() {
+            return session;
+        }
+
+        public Reason getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + index + ": " + reason;
+        }
+    }
+
+    private int acceptedCount;
+    private final ArrayList<Rejection> rejections = new ArrayList<>();
+
+    void reject(int index, StudySession session, Reason reason) {
+        rejections.add(new Rejection(index, session, reason));
+    }
+
+    void setAcceptedCount(int acceptedCount) {
+        this.acceptedCount = acceptedCount;
+    }
+
+    public int getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    public int getRejectedCount() {
+        return rejections.size();
+    }
+
+    // In batch order
+    public List<Rejection> getRejections() {
+        return Collections.unmodifiableList(rejections);
+    }
+
+    public int countRejected(Reason reason) {
+        int count = 0;
+        for (Rejection rejection : rejections) {
+            if (rejection.reason == reason) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(acceptedCount).append(" sessions added, ").append(rejections.size()).append(" rejected");
+        for (Reason reason : Reason.values()) {
+            int count = countRejected(reason);
+            if (count > 0) {
+                sb.append(", ").append(count).append(' ').append(reason);
+            }
+        }
+        return sb.toString();
+    }
+}
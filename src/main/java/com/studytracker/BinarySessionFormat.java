@@ -0,0 +1,406 @@
+package com.studytracker;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Compact, lossless binary session file. Layout (big-endian):
+//
+//   header   magic "STDY" (4 bytes), version (2), reserved (2), session count (8)
+//   subjects varint count, then per subject: varint byte length + UTF-8 bytes
+//   sessions per session:
+//              flags (1)                see the FLAG_ constants
+//              start epoch second (8)   unless FLAG_NO_START
+//              start nanos varint       if FLAG_START_NANOS
+//              end                      varint zigzag seconds after start, or 8-byte
+//                                       epoch second when there's no start; omitted
+//                                       if FLAG_NO_END
+//              end nanos varint         if FLAG_END_NANOS
+//              subject id varint        unless FLAG_NO_SUBJECT (a length-prefixed
+//                                       string in self-contained journal records)
+//              difficulty (1)
+//              notes                    varint byte length + UTF-8, if FLAG_NOTES
+//
+// Null entries in the session list are not written.
+final class BinarySessionFormat {
+    static final int MAGIC = 0x53544459; // "STDY"
+    static final short VERSION = 1;
+
+    private static final int FLAG_NO_START = 1;
+    private static final int FLAG_NO_END = 2;
+    private static final int FLAG_NO_SUBJECT = 4;
+    private static final int FLAG_NOTES = 8;
+    private static final int FLAG_START_NANOS = 16;
+    private static final int FLAG_END_NANOS = 32;
+    private static final int FLAG_NULL_NOTES = 64;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private BinarySessionFormat() {
+    }
+
+    static void write(FileChannel channel, List<StudySession> sessions) throws IOException {
+        // First pass: build the subject table and count the sessions we'll write
+        HashMap<String, Integer> subjectIds = new HashMap<>();
+        ArrayList<String> subjects = new ArrayList<>();
+        long count = 0;
+        for (StudySession session : sessions) {
+            if (session == null) {
+                continue;
+            }
+            count++;
+            String subject = session.getSubject();
+            if (subject != null && !subjectIds.containsKey(subject)) {
+                subjectIds.put(subject, subjects.size());
+                subjects.add(subject);
+            }
+        }
+
+        Output out = new Output(channel);
+        out.ensure(16);
+        out.buffer.putInt(MAGIC).putShort(VERSION).putShort((short) 0).putLong(count);
+        out.putVarint(subjects.size());
+        for (String subject : subjects) {
+            out.putString(subject);
+        }
+
+        for (StudySession session : sessions) {
+            if (session != null) {
+                writeSession(out, session, subjectIds);
+            }
+        }
+        out.flush();
+    }
+
+    static LoadReport read(FileChannel channel, Consumer<StudySession> consumer) throws IOException {
+        return read(channel, consumer, null);
+    }
+
+    // Subject table entries are interned through `dictionary` when one is given
+    static LoadReport read(FileChannel channel, Consumer<StudySession> consumer, SubjectDictionary dictionary) throws IOException {
+        Input in = new Input(channel);
+        in.require(16);
+        if (in.buffer.getInt() != MAGIC) {
+            throw new IOException("Not a binary session file");
+        }
+        short version = in.buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported session file version " + version);
+        }
+        in.buffer.getShort(); // reserved
+        long count = in.buffer.getLong();
+        if (count < 0) {
+            throw new IOException("Corrupt session file: bad session count " + count);
+        }
+
+        long subjectCount = in.getVarint();
+        if (subjectCount < 0 || subjectCount > Integer.MAX_VALUE) {
+            throw new IOException("Corrupt session file: bad subject count " + subjectCount);
+        }
+        // Grown as subjects are read, so a corrupt count can't allocate a huge array up front
+        ArrayList<String> subjectList = new ArrayList<>((int) Math.min(subjectCount, 1024));
+        for (long i = 0; i < subjectCount; i++) {
+            subjectList.add(dictionary == null ? in.getString() : dictionary.intern(in.getString()));
+        }
+        String[] subjects = subjectList.toArray(new String[0]);
+
+        for (long n = 0; n < count; n++) {
+            consumer.accept(readSession(in, subjects));
+        }
+        return new LoadReport(count, 0);
+    }
+
+    // Write one session record. With no subject table (subjectIds == null) the
+    // subject is written inline as a string instead of an id, which makes the
+    // record self-contained; SessionJournal uses that form.
+    static void writeSession(Output out, StudySession session, HashMap<String, Integer> subjectIds) throws IOException {
+        LocalDateTime start = session.getStartTime();
+        LocalDateTime end = session.getEndTime();
+        String subject = session.getSubject();
+        String notes = session.getNotes();
+
+        int flags = 0;
+        if (start == null) {
+            flags |= FLAG_NO_START;
+        } else if (start.getNano() != 0) {
+            flags |= FLAG_START_NANOS;
+        }
+        if (end == null) {
+            flags |= FLAG_NO_END;
+        } else if (end.getNano() != 0) {
+            flags |= FLAG_END_NANOS;
+        }
+        if (subject == null) {
+            flags |= FLAG_NO_SUBJECT;
+        }
+        if (notes == null) {
+            flags |= FLAG_NULL_NOTES;
+        } else if (!notes.isEmpty()) {
+            flags |= FLAG_NOTES;
+        }
+
+        out.ensure(1 + 8 + 5 + 10 + 5);
+        out.buffer.put((byte) flags);
+        long startSecond = 0;
+        if (start != null) {
+            startSecond = start.toEpochSecond(ZoneOffset.UTC);
+            out.buffer.putLong(startSecond);
+            if (start.getNano() != 0) {
+                out.putVarint(start.getNano());
+            }
+        }
+        if (end != null) {
+            long endSecond = end.toEpochSecond(ZoneOffset.UTC);
+            if (start != null) {
+                out.putVarint(zigzag(endSecond - startSecond));
+            } else {
+                out.ensure(8);
+                out.buffer.putLong(endSecond);
+            }
+            if (end.getNano() != 0) {
+                out.putVarint(end.getNano());
+            }
+        }
+        if (subject != null) {
+            if (subjectIds == null) {
+                out.putString(subject);
+            } else {
+                out.putVarint(subjectIds.get(subject));
+            }
+        }
+        out.ensure(1);
+        out.buffer.put((byte) session.getDifficulty());
+        if ((flags & FLAG_NOTES) != 0) {
+            out.putString(notes);
+        }
+    }
+
+    // Read one session record; subjects == null means subjects are inline
+    // Out-of-range seconds or nanos can only come from a corrupt file
+    private static LocalDateTime toTime(long second, long nanos) throws IOException {
+        if (nanos < 0 || nanos > 999_999_999) {
+            throw new IOException("Corrupt session file: bad nanoseconds " + nanos);
+        }
+        try {
+            return LocalDateTime.ofEpochSecond(second, (int) nanos, ZoneOffset.UTC);
+        } catch (DateTimeException e) {
+            throw new IOException("Corrupt session file: bad time " + second, e);
+        }
+    }
+
+    static StudySession readSession(Input in, String[] subjects) throws IOException {
+        in.require(1);
+        int flags = in.buffer.get();
+
+        LocalDateTime start = null;
+        long startSecond = 0;
+        if ((flags & FLAG_NO_START) == 0) {
+            in.require(8);
+            startSecond = in.buffer.getLong();
+            long nanos = (flags & FLAG_START_NANOS) != 0 ? in.getVarint() : 0;
+            start = toTime(startSecond, nanos);
+        }
+        LocalDateTime end = null;
+        if ((flags & FLAG_NO_END) == 0) {
+            long endSecond;
+            if (start != null) {
+                endSecond = startSecond + unzigzag(in.getVarint());
+            } else {
+                in.require(8);
+                endSecond = in.buffer.getLong();
+            }
+            long nanos = (flags & FLAG_END_NANOS) != 0 ? in.getVarint() : 0;
+            end = toTime(endSecond, nanos);
+        }
+        String subject = null;
+        if ((flags & FLAG_NO_SUBJECT) == 0) {
+            if (subjects == null) {
+                subject = in.getString();
+            } else {
+                long id = in.getVarint();
+                if (id < 0 || id >= subjects.length) {
+                    throw new IOException("Corrupt session file: bad subject id " + id);
+                }
+                subject = subjects[(int) id];
+            }
+        }
+        in.require(1);
+        int difficulty = in.buffer.get();
+
+        StudySession session = new StudySession(start, end, subject);
+        session.setDifficulty(difficulty);
+        if ((flags & FLAG_NOTES) != 0) {
+            session.setNotes(in.getString());
+        } else if ((flags & FLAG_NULL_NOTES) != 0) {
+            session.setNotes(null);
+        }
+        return session;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    // Buffered writer over a FileChannel, or a growable in-memory buffer when
+    // there is no channel
+    static final class Output {
+        private final FileChannel channel;
+        private ByteBuffer buffer;
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+
+        Output(int initialCapacity) {
+            this.channel = null;
+            this.buffer = ByteBuffer.allocate(initialCapacity);
+        }
+
+        // Bytes written so far, for an in-memory Output
+        ByteBuffer buffer() {
+            return buffer;
+        }
+
+        // A copy of the bytes written so far, for an in-memory Output
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer.array(), buffer.position());
+        }
+
+        void ensure(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+            if (channel != null) {
+                flush();
+                return;
+            }
+            int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+            ByteBuffer grown = ByteBuffer.allocate(capacity);
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        void putVarint(long value) throws IOException {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putVarint(bytes.length);
+            putBytes(bytes);
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            if (channel != null && bytes.length > buffer.capacity()) {
+                flush();
+                ByteBuffer large = ByteBuffer.wrap(bytes);
+                while (large.hasRemaining()) {
+                    channel.write(large);
+                }
+                return;
+            }
+            ensure(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    // Buffered reader over a FileChannel, or over bytes already in memory
+    static final class Input {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        Input(FileChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.flip(); // start empty
+        }
+
+        Input(ByteBuffer bytes) {
+            this.channel = null;
+            this.buffer = bytes;
+        }
+
+        boolean hasRemaining() {
+            return buffer.hasRemaining();
+        }
+
+        // Make sure at least `bytes` bytes can be read from the buffer
+        void require(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+            if (channel == null) {
+                throw new EOFException("Session record is truncated");
+            }
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("Session file is truncated");
+                }
+            }
+            buffer.flip();
+        }
+
+        long getVarint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                require(1);
+                byte b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Corrupt session file: varint too long");
+        }
+
+        String getString() throws IOException {
+            long length = getVarint();
+            if (length < 0 || length > Integer.MAX_VALUE) {
+                throw new IOException("Corrupt session file: bad string length " + length);
+            }
+            // Grown as bytes arrive, so a corrupt length hits end of file before a huge allocation
+            byte[] bytes = new byte[(int) Math.min(length, BUFFER_SIZE)];
+            int copied = 0;
+            while (copied < length) {
+                require(1);
+                if (copied == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, (int) Math.min(length, bytes.length * 2L));
+                }
+                int chunk = Math.min(buffer.remaining(), bytes.length - copied);
+                buffer.get(bytes, copied, chunk);
+                copied += chunk;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.studytracker;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+// Column-oriented store for very large histories. Instead of one StudySession
+// object per row (two LocalDateTimes and two Strings each), rows are kept in
+// primitive arrays:
+//   start/end   epoch seconds (UTC), NO_TIME when missing, plus the
+//               nanosecond of the second
+//   difficulty  one byte per row, 0 marks a null session
+//   subject     id in a SubjectDictionary, -1 when missing
+//   notes       null for the default empty notes, so they share nothing;
+//               NULL_NOTES for notes set to null
+//
+// get() builds a new StudySession view for the row, so changes made to a view
+// are not written back. Every field comes back as it was added, times to the
+// nanosecond, so durations and statistics match the list store's.
+public class ColumnarSessionStore implements SessionStore {
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final byte NULL_ROW = 0;
+    // Compared by identity; stands for notes that were null rather than empty
+    private static final String NULL_NOTES = new String("<null notes>");
+
+    private long[] startTimes;
+    private long[] endTimes;
+    private int[] startNanos;
+    private int[] endNanos;
+    private byte[] difficulties;
+    private int[] subjectIds;
+    private String[] notes;
+    private int size;
+
+    private final SubjectDictionary subjects;
+
+    public ColumnarSessionStore() {
+        this(16);
+    }
+
+    public ColumnarSessionStore(int initialCapacity) {
+        this(initialCapacity, new SubjectDictionary());
+    }
+
+    // Share one dictionary between stores, e.g. one per student in the same JVM.
+    // A case-insensitive dictionary stores every spelling as its canonical one.
+    public ColumnarSessionStore(int initialCapacity, SubjectDictionary subjects) {
+        int capacity = Math.max(initialCapacity, 1);
+        this.startTimes = new long[capacity];
+        this.endTimes = new long[capacity];
+        this.startNanos = new int[capacity];
+        this.endNanos = new int[capacity];
+        this.difficulties = new byte[capacity];
+        this.subjectIds = new int[capacity];
+        this.notes = new String[capacity];
+        this.subjects = subjects;
+    }
+
+    @Override
+    public SubjectDictionary getSubjectDictionary() {
+        return subjects;
+    }
+
+    @Override
+    public int add(StudySession session) {
+        if (size == startTimes.length) {
+            grow();
+        }
+        int row = size++;
+        if (session == null) {
+            difficulties[row] = NULL_ROW;
+            return row;
+        }
+        LocalDateTime start = session.getStartTime();
+        LocalDateTime end = session.getEndTime();
+        startTimes[row] = toEpochSecond(start);
+        startNanos[row] = start == null ? 0 : start.getNano();
+        endTimes[row] = toEpochSecond(end);
+        endNanos[row] = end == null ? 0 : end.getNano();
+        difficulties[row] = (byte) session.getDifficulty();
+        subjectIds[row] = subjects.idOf(session.getSubject());
+        String sessionNotes = session.getNotes();
+        if (sessionNotes == null) {
+            notes[row] = NULL_NOTES;
+        } else {
+            notes[row] = sessionNotes.isEmpty() ? null : sessionNotes;
+        }
+        return row;
+    }
+
+    @Override
+    public StudySession get(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+        }
+        if (difficulties[row] == NULL_ROW) {
+            return null;
+        }
+        int id = subjectIds[row];
+        StudySession session = new StudySession(
+                toDateTime(startTimes[row], startNanos[row]),
+                toDateTime(endTimes[row], endNanos[row]),
+                subjects.nameOf(id));
+        session.setDifficulty(difficulties[row]);
+        if (notes[row] == NULL_NOTES) {
+            session.setNotes(null);
+        } else if (notes[row] != null) {
+            session.setNotes(notes[row]);
+        }
+        return session;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Distinct subjects in the dictionary, which may be shared with other stores
+    public int getSubjectCount() {
+        return subjects.size();
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        if (capacity > startTimes.length) {
+            resize(capacity);
+        }
+    }
+
+    private void grow() {
+        resize(startTimes.length + (startTimes.length >> 1) + 1);
+    }
+
+    private void resize(int capacity) {
+        startTimes = Arrays.copyOf(startTimes, capacity);
+        endTimes = Arrays.copyOf(endTimes, capacity);
+        startNanos = Arrays.copyOf(startNanos, capacity);
+        endNanos = Arrays.copyOf(endNanos, capacity);
+        difficulties = Arrays.copyOf(difficulties, capacity);
+        subjectIds = Arrays.copyOf(subjectIds, capacity);
+        notes = Arrays.copyOf(notes, capacity);
+    }
+
+    private static long toEpochSecond(LocalDateTime time) {
+        return time == null ? NO_TIME : time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond, int nanos) {
+        return epochSecond == NO_TIME ? null : LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,249 @@
+package com.studytracker;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Line-based command server on the loopback interface with the same
+// operations as the Main menu, for driving one tracker from many clients.
+//
+// Commands, one per line (UTF-8):
+//   ADD <start|now> <minutes> <difficulty> <subject...>
+//   LIST
+//   SUBJECT <subject...>
+//   STATS
+//   SAVE
+//   QUIT
+// Every reply starts with "OK" or "ERR <message>". LIST and SUBJECT reply
+// "OK <count>" followed by that many "start,end,subject,difficulty" lines,
+// written straight from a tracker snapshot as they're formatted, so even very
+// large lists never have to fit in one buffer.
+//
+// Each connection runs on its own thread from the given executor. Replies are
+// flushed only when the client has no further commands waiting, so pipelined
+// requests share writes.
+public class CommandServer implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ConcurrentStudyTracker tracker;
+    private final SimpleFileStorage storage;
+    private final ExecutorService connections;
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+    private ServerSocket serverSocket;
+    private Thread acceptor;
+
+    // Connections get a thread each from a cached pool
+    public CommandServer(ConcurrentStudyTracker tracker, SimpleFileStorage storage) {
+        this(tracker, storage, newConnectionPool());
+    }
+
+    // Run connections on a different executor. On Java 21+ pass
+    // Executors.newVirtualThreadPerTaskExecutor() to give each one a virtual thread.
+    public CommandServer(ConcurrentStudyTracker tracker, SimpleFileStorage storage, ExecutorService connections) {
+        this.tracker = tracker;
+        this.storage = storage;
+        this.connections = connections;
+    }
+
+    // Start listening on 127.0.0.1; port 0 picks a free port. Returns the port.
+    public synchronized int start(int port) throws IOException {
+        serverSocket = new ServerSocket(port, 512, InetAddress.getLoopbackAddress());
+        acceptor = new Thread(this::acceptLoop, "command-server-acceptor");
+        acceptor.start();
+        return serverSocket.getLocalPort();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                clients.add(socket);
+                connections.execute(() -> serve(socket));
+            } catch (SocketException e) {
+                return; // closed
+            } catch (IOException e) {
+                System.out.println("Error accepting connection: " + e.getMessage());
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8), BUFFER_SIZE);
+             BufferedWriter out = new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!handle(line.trim(), out)) {
+                    out.flush();
+                    return;
+                }
+                if (!in.ready()) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // Client went away; nothing to clean up beyond the socket
+        } finally {
+            clients.remove(socket);
+        }
+    }
+
+    // Run one command; false when the client asked to quit
+    private boolean handle(String line, Writer out) throws IOException {
+        int space = line.indexOf(' ');
+        String command = (space < 0 ? line : line.substring(0, space)).toUpperCase();
+        String rest = space < 0 ? "" : line.substring(space + 1).trim();
+        switch (command) {
+            case "ADD":
+                add(rest, out);
+                return true;
+            case "LIST":
+                writeSessions(tracker.snapshot(), out);
+                return true;
+            case "SUBJECT":
+                if (rest.isEmpty()) {
+                    out.write("ERR Usage: SUBJECT <subject>\n");
+                } else {
+                    writeSessions(tracker.snapshot().getSessionsBySubject(rest), out);
+                }
+                return true;
+            case "STATS":
+                ConcurrentStudyTracker.Snapshot snapshot = tracker.snapshot();
+                out.write("OK sessions=" + snapshot.size()
+                        + " totalMinutes=" + snapshot.getTotalStudyMinutes()
+                        + " averageMinutes=" + String.format("%.2f", snapshot.getAverageSessionLength())
+                        + " streak=" + snapshot.getStudyStreak() + "\n");
+                return true;
+            case "SAVE":
+                save(out);
+                return true;
+            case "QUIT":
+                out.write("OK bye\n");
+                return false;
+            case "":
+                return true;
+            default:
+                out.write("ERR Unknown command " + command + "\n");
+                return true;
+        }
+    }
+
+    private void add(String args, Writer out) throws IOException {
+        String[] parts = args.split(" ", 4);
+        if (parts.length < 4 || parts[3].isBlank()) {
+            out.write("ERR Usage: ADD <start|now> <minutes> <difficulty> <subject>\n");
+            return;
+        }
+        LocalDateTime start;
+        int minutes;
+        int difficulty;
+        try {
+            start = parts[0].equalsIgnoreCase("now") ? LocalDateTime.now() : LocalDateTime.parse(parts[0]);
+            minutes = Integer.parseInt(parts[1]);
+            difficulty = Integer.parseInt(parts[2]);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            out.write("ERR Bad start time or number: " + e.getMessage() + "\n");
+            return;
+        }
+        if (minutes <= 0) {
+            out.write("ERR Duration must be positive\n");
+            return;
+        }
+        if (difficulty < 1 || difficulty > 5) {
+            out.write("ERR Difficulty must be between 1 and 5\n");
+            return;
+        }
+        StudySession session = new StudySession(start, start.plusMinutes(minutes), parts[3]);
+        session.setDifficulty(difficulty);
+        tracker.addSession(session);
+        out.write("OK added\n");
+    }
+
+    private void save(Writer out) throws IOException {
+        if (storage == null) {
+            out.write("ERR Saving is not configured\n");
+            return;
+        }
+        ConcurrentStudyTracker.Snapshot snapshot = tracker.snapshot();
+        // Saves from different clients must not write the file at the same time
+        try {
+            synchronized (storage) {
+                storage.writeSessionsBinary(snapshot);
+            }
+        } catch (IOException e) {
+            out.write("ERR Save failed: " + e.getMessage() + "\n");
+            return;
+        }
+        out.write("OK saved " + snapshot.size() + "\n");
+    }
+
+    // Count first, then one line per session straight into the socket buffer
+    private static void writeSessions(List<StudySession> sessions, Writer out) throws IOException {
+        int count = sessions.size();
+        out.write("OK " + count + "\n");
+        StringBuilder line = new StringBuilder(128);
+        for (int i = 0; i < count; i++) {
+            StudySession session = sessions.get(i);
+            line.setLength(0);
+            if (session != null) {
+                line.append(session.getStartTime()).append(',')
+                        .append(session.getEndTime()).append(',')
+                        .append(session.getSubject()).append(',')
+                        .append(session.getDifficulty());
+            }
+            line.append('\n');
+            out.append(line);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        for (Socket client : clients) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                // already closing
+            }
+        }
+        connections.shutdown();
+        if (acceptor != null) {
+            try {
+                acceptor.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static ExecutorService newConnectionPool() {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "command-server-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
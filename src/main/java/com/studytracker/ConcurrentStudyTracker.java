@@ -0,0 +1,321 @@
+package com.studytracker;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Thread-safe StudyTracker for services that add sessions from many threads
+// while others read. Same queries and statistics as StudyTracker.
+//
+// Writers never wait on each other to store a session: each one claims a row
+// with an atomic increment and publishes its session into a segmented array
+// that never moves existing rows. Rows then have to be committed in row order
+// (indexes and statistics updated, a new immutable Snapshot published). That
+// is done by combining: whichever writer gets the commit lock commits every
+// row that is ready, including other writers' rows, and publishes one
+// Snapshot for the whole batch. Writers that miss the lock just wait for
+// their row to show up in a snapshot.
+//
+// Readers take the current Snapshot: a read-only List over the first N rows
+// plus the statistics as of exactly those rows. Nothing is copied and nothing
+// is locked, and every answer from one snapshot is consistent with the others.
+public class ConcurrentStudyTracker {
+    private static final int SEGMENT_BITS = 12;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+    private static final int SPINS_BEFORE_YIELD = 100;
+    // Stored in place of a null session so an empty slot always means "not written yet"
+    private static final StudySession NULL_ROW = new StudySession(null, null, null);
+
+    private final AtomicInteger nextRow = new AtomicInteger();
+    private volatile AtomicReferenceArray<StudySession>[] segments = newDirectory(4);
+    private final Object segmentLock = new Object();
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private volatile Snapshot current;
+
+    // Only touched while holding commitLock. Readers use the row lists, which
+    // are safe to read while one thread appends.
+    private final ConcurrentHashMap<String, RowList> sessionsBySubject = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<LocalDate, RowList> sessionsByDate = new ConcurrentSkipListMap<>();
+    private final RowList nullSubjectRows = new RowList();
+    private final StudyDays studyDays = new StudyDays();
+    private int totalMinutes;
+    private long totalMinutesExact;
+
+    public ConcurrentStudyTracker() {
+        this.current = new Snapshot(segments, 0, 0, 0, 0);
+    }
+
+    // Add a new study session. Safe to call from any number of threads; the
+    // session is visible to every reader by the time this returns.
+    public void addSession(StudySession session) {
+        int row = nextRow.getAndIncrement();
+        segmentFor(row).set(row & SEGMENT_MASK, session == null ? NULL_ROW : session);
+
+        int spins = 0;
+        while (current.size <= row) {
+            if (commitLock.tryLock()) {
+                try {
+                    commitReadyRows();
+                } finally {
+                    commitLock.unlock();
+                }
+            } else if (++spins < SPINS_BEFORE_YIELD) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    // Commit every written row after the current snapshot, stopping at the
+    // first row whose writer hasn't stored its session yet
+    private void commitReadyRows() {
+        int size = current.size;
+        int committed = size;
+        int claimed = nextRow.get();
+        AtomicReferenceArray<StudySession>[] directory = segments;
+        while (committed < claimed) {
+            int index = committed >>> SEGMENT_BITS;
+            if (index >= directory.length || directory[index] == null) {
+                directory = segments;
+                if (index >= directory.length || directory[index] == null) {
+                    break;
+                }
+            }
+            StudySession session = directory[index].get(committed & SEGMENT_MASK);
+            if (session == null) {
+                break;
+            }
+            if (session != NULL_ROW) {
+                index(committed, session);
+            }
+            committed++;
+        }
+        if (committed > size) {
+            current = new Snapshot(segments, committed, totalMinutes, totalMinutesExact, studyDays.getStreak());
+        }
+    }
+
+    private void index(int row, StudySession session) {
+        String subject = session.getSubject();
+        if (subject == null) {
+            nullSubjectRows.add(row);
+        } else {
+            sessionsBySubject.computeIfAbsent(subject, k -> new RowList()).add(row);
+        }
+        LocalDateTime start = session.getStartTime();
+        if (start != null) {
+            LocalDate day = start.toLocalDate();
+            sessionsByDate.computeIfAbsent(day, k -> new RowList()).add(row);
+            studyDays.add(day);
+        }
+        int minutes = session.getDurationInMinutes();
+        totalMinutes += minutes;
+        totalMinutesExact += minutes;
+    }
+
+    // A consistent, read-only view of the tracker as of now
+    public Snapshot snapshot() {
+        return current;
+    }
+
+    public int size() {
+        return current.size;
+    }
+
+    public int getTotalStudyMinutes() {
+        return current.getTotalStudyMinutes();
+    }
+
+    public double getAverageSessionLength() {
+        return current.getAverageSessionLength();
+    }
+
+    public int getStudyStreak() {
+        return current.getStudyStreak();
+    }
+
+    // Get all sessions, as a copy
+    public ArrayList<StudySession> getAllSessions() {
+        return new ArrayList<>(current);
+    }
+
+    public ArrayList<StudySession> getSessionsBySubject(String subject) {
+        return current.getSessionsBySubject(subject);
+    }
+
+    public ArrayList<StudySession> getSessionsOnDate(LocalDate date) {
+        return current.getSessionsOnDate(date);
+    }
+
+    public ArrayList<StudySession> getSessionsBetween(LocalDate from, LocalDate to) {
+        return current.getSessionsBetween(from, to);
+    }
+
+    private AtomicReferenceArray<StudySession> segmentFor(int row) {
+        int index = row >>> SEGMENT_BITS;
+        AtomicReferenceArray<StudySession>[] directory = segments;
+        if (index < directory.length && directory[index] != null) {
+            return directory[index];
+        }
+        synchronized (segmentLock) {
+            directory = segments;
+            if (index >= directory.length) {
+                directory = Arrays.copyOf(directory, Math.max(directory.length * 2, index + 1));
+            }
+            if (directory[index] == null) {
+                directory[index] = new AtomicReferenceArray<>(SEGMENT_SIZE);
+            }
+            segments = directory;
+            return directory[index];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AtomicReferenceArray<StudySession>[] newDirectory(int length) {
+        return (AtomicReferenceArray<StudySession>[]) new AtomicReferenceArray<?>[length];
+    }
+
+    // The tracker as of one point in time: its first `size` sessions and the
+    // statistics over exactly those sessions
+    public final class Snapshot extends AbstractList<StudySession> implements RandomAccess {
+        private final AtomicReferenceArray<StudySession>[] segments;
+        private final int size;
+        private final int totalMinutes;
+        private final long totalMinutesExact;
+        private final int streak;
+
+        private Snapshot(AtomicReferenceArray<StudySession>[] segments, int size, int totalMinutes, long totalMinutesExact, int streak) {
+            this.segments = segments;
+            this.size = size;
+            this.totalMinutes = totalMinutes;
+            this.totalMinutesExact = totalMinutesExact;
+            this.streak = streak;
+        }
+
+        @Override
+        public StudySession get(int row) {
+            if (row < 0 || row >= size) {
+                throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+            }
+            // Plain read is enough: the row was committed before this snapshot was published
+            StudySession session = segments[row >>> SEGMENT_BITS].getPlain(row & SEGMENT_MASK);
+            return session == NULL_ROW ? null : session;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        public int getTotalStudyMinutes() {
+            return totalMinutes;
+        }
+
+        public double getAverageSessionLength() {
+            if (size == 0) {
+                return 0.0;
+            }
+            return (double) totalMinutesExact / size;
+        }
+
+        public int getStudyStreak() {
+            return streak;
+        }
+
+        // Sessions without a subject match every subject, as in StudyTracker
+        public ArrayList<StudySession> getSessionsBySubject(String subject) {
+            RowList rows = subject == null ? null : sessionsBySubject.get(subject);
+            ArrayList<StudySession> result = new ArrayList<>();
+            int matched = rows == null ? 0 : rows.countBelow(size);
+            int unnamed = nullSubjectRows.countBelow(size);
+            int i = 0;
+            int j = 0;
+            // Merge the two row lists to keep insertion order
+            while (i < matched || j < unnamed) {
+                if (j >= unnamed || (i < matched && rows.get(i) < nullSubjectRows.get(j))) {
+                    result.add(get(rows.get(i++)));
+                } else {
+                    result.add(get(nullSubjectRows.get(j++)));
+                }
+            }
+            return result;
+        }
+
+        public ArrayList<StudySession> getSessionsOnDate(LocalDate date) {
+            ArrayList<StudySession> result = new ArrayList<>();
+            if (date != null) {
+                addRows(sessionsByDate.get(date), result);
+            }
+            return result;
+        }
+
+        public ArrayList<StudySession> getSessionsBetween(LocalDate from, LocalDate to) {
+            ArrayList<StudySession> result = new ArrayList<>();
+            if (from == null || to == null || from.isAfter(to)) {
+                return result;
+            }
+            for (RowList day : sessionsByDate.subMap(from, true, to, true).values()) {
+                addRows(day, result);
+            }
+            return result;
+        }
+
+        private void addRows(RowList rows, List<StudySession> result) {
+            if (rows == null) {
+                return;
+            }
+            int count = rows.countBelow(size);
+            for (int i = 0; i < count; i++) {
+                result.add(get(rows.get(i)));
+            }
+        }
+    }
+
+    // Ascending list of row numbers with one writer at a time and any number of
+    // concurrent readers. Readers see every row added before the size they read.
+    private static final class RowList {
+        private volatile int[] rows = new int[4];
+        private volatile int size;
+
+        void add(int row) {
+            int[] current = rows;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+                rows = current;
+            }
+            current[size] = row;
+            size = size + 1;
+        }
+
+        int get(int index) {
+            return rows[index];
+        }
+
+        // How many rows are smaller than `limit`; rows are ascending, so binary search
+        int countBelow(int limit) {
+            int[] current = rows;
+            int low = 0;
+            int high = Math.min(size, current.length);
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (current[mid] < limit) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
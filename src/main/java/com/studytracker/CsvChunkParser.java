@@ -0,0 +1,108 @@
+package com.studytracker;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.RecursiveAction;
+
+// Fork-join task that memory-maps one newline-aligned slice of a session CSV
+// file and parses it. Results are kept on the task so the caller can merge
+// chunks back in file order once they're done.
+class CsvChunkParser extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final FileChannel channel;
+    private final long start;
+    private final long end;
+    private final SubjectDictionary subjects;
+
+    private ArrayList<StudySession> sessions;
+    private long skippedLines;
+
+    CsvChunkParser(FileChannel channel, long start, long end, SubjectDictionary subjects) {
+        this.channel = channel;
+        this.start = start;
+        this.end = end;
+        this.subjects = subjects;
+    }
+
+    @Override
+    protected void compute() {
+        if (end - start > Integer.MAX_VALUE) {
+            throw new UncheckedIOException(new IOException("Line too long to map at offset " + start));
+        }
+        int size = (int) (end - start);
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // Roughly 60 bytes per line in practice
+        sessions = new ArrayList<>(size / 60 + 1);
+        AsciiBytes text = new AsciiBytes(buffer);
+        int lineStart = 0;
+        while (lineStart < size) {
+            int lineEnd = lineStart;
+            while (lineEnd < size && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            if (lineEnd > lineStart) {
+                StudySession session = parseLine(buffer, text, lineStart, lineEnd, subjects);
+                if (session == null) {
+                    skippedLines++;
+                } else {
+                    sessions.add(session);
+                }
+            }
+            lineStart = next;
+        }
+    }
+
+    // Same rules as SessionReader.parseLine, working on bytes
+    private static StudySession parseLine(MappedByteBuffer buffer, AsciiBytes text, int from, int to, SubjectDictionary subjects) {
+        int firstComma = indexOfComma(buffer, from, to);
+        if (firstComma < 0) {
+            return null;
+        }
+        int secondComma = indexOfComma(buffer, firstComma + 1, to);
+        if (secondComma < 0) {
+            return null;
+        }
+        LocalDateTime startTime = TimestampParser.parse(text.reset(from, firstComma));
+        LocalDateTime endTime = TimestampParser.parse(text.reset(firstComma + 1, secondComma));
+        if (startTime == null || endTime == null) {
+            return null;
+        }
+        byte[] subject = new byte[to - secondComma - 1];
+        buffer.get(secondComma + 1, subject);
+        // The decoded copy is garbage straight away; sessions keep the shared instance
+        return new StudySession(startTime, endTime, subjects.intern(new String(subject, StandardCharsets.UTF_8)));
+    }
+
+    private static int indexOfComma(MappedByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == ',') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    ArrayList<StudySession> getSessions() {
+        return sessions;
+    }
+
+    long getSkippedLines() {
+        return skippedLines;
+    }
+}
@@ -0,0 +1,99 @@
+package com.studytracker;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lock-free latency histogram in the style of HdrHistogram. Values are
+// bucketed log-linearly: below 64 every value has its own bucket, and above
+// that each power of two is split into 32 buckets, so any recorded value is
+// off by at most ~3%. Recording is one atomic increment plus two adds, and
+// the bucket array is fixed (about 15 KB), so nothing is allocated.
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(indexOf(value));
+        total.add(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    // Record the time since `startNanos`, a System.nanoTime() reading
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    // Counts and percentiles as of now. Recording may continue meanwhile, so
+    // the totals are consistent to within the values recorded during the call.
+    public LatencySummary summarize() {
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return new LatencySummary(0, 0, 0, 0, 0, 0, 0);
+        }
+        // A bucket's highest value can be above anything actually recorded
+        long highest = max.get();
+        return new LatencySummary(count,
+                (double) total.sum() / count,
+                Math.min(valueAt(snapshot, count, 0.50), highest),
+                Math.min(valueAt(snapshot, count, 0.90), highest),
+                Math.min(valueAt(snapshot, count, 0.99), highest),
+                Math.min(valueAt(snapshot, count, 0.999), highest),
+                highest);
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        total.reset();
+        max.set(0);
+    }
+
+    // Highest value in the bucket that holds the given percentile
+    private static long valueAt(long[] snapshot, long count, double percentile) {
+        long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return highestValueIn(i);
+            }
+        }
+        return highestValueIn(snapshot.length - 1);
+    }
+
+    static int indexOf(long value) {
+        int bits = 64 - Long.numberOfLeadingZeros(value);
+        if (bits <= SUB_BUCKET_BITS + 1) {
+            return (int) value;
+        }
+        int shift = bits - SUB_BUCKET_BITS - 1;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long highestValueIn(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long top = index - ((long) shift << SUB_BUCKET_BITS);
+        return ((top + 1) << shift) - 1;
+    }
+}
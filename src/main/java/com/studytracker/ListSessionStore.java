@@ -0,0 +1,34 @@
+package com.studytracker;
+
+import java.util.ArrayList;
+
+// The default store: keeps the StudySession objects themselves, so get() hands
+// back the same instance that was added.
+public class ListSessionStore implements SessionStore {
+    private ArrayList<StudySession> sessions;
+
+    public ListSessionStore() {
+        this.sessions = new ArrayList<>();
+    }
+
+    @Override
+    public int add(StudySession session) {
+        sessions.add(session);
+        return sessions.size() - 1;
+    }
+
+    @Override
+    public StudySession get(int row) {
+        return sessions.get(row);
+    }
+
+    @Override
+    public int size() {
+        return sessions.size();
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        sessions.ensureCapacity(capacity);
+    }
+}
@@ -0,0 +1,26 @@
+package com.studytracker;
+
+// Outcome of a bulk load: how many sessions were read and how many lines had
+// to be skipped because they were malformed
+public class LoadReport {
+    private final long loadedSessions;
+    private final long skippedLines;
+
+    public LoadReport(long loadedSessions, long skippedLines) {
+        this.loadedSessions = loadedSessions;
+        this.skippedLines = skippedLines;
+    }
+
+    public long getLoadedSessions() {
+        return loadedSessions;
+    }
+
+    public long getSkippedLines() {
+        return skippedLines;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d sessions loaded, %d malformed lines skipped", loadedSessions, skippedLines);
+    }
+}
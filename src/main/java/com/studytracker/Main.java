@@ -1,14 +1,50 @@
 package com.studytracker;
 
+import java.io.File;
+import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 public class Main {
+    // Snapshot and journal files for the sessions entered here
+    private static final String DATA_DIRECTORY = "study_data";
+    private static final int DEFAULT_PORT = 7070;
+    // Formats listings in bulk instead of one println per session
+    private static final SessionRenderer renderer = new SessionRenderer();
+
     public static void main(String[] args) {
+        // "serve [port]" runs the command server instead of the menu
+        if (args.length > 0 && args[0].equals("serve")) {
+            int port = DEFAULT_PORT;
+            if (args.length > 1) {
+                try {
+                    port = Integer.parseInt(args[1]);
+                } catch (NumberFormatException e) {
+                    port = -1;
+                }
+            }
+            if (port < 0 || port > 65535) {
+                System.out.println("Usage: serve [port], where port is 0-65535 (default " + DEFAULT_PORT + ")");
+                return;
+            }
+            serve(port);
+            return;
+        }
+
         StudyTracker tracker = new StudyTracker();
         Scanner scanner = new Scanner(System.in);
 
+        SessionJournal journal = null;
+        try {
+            journal = SessionJournal.open(DATA_DIRECTORY, SessionJournal.FsyncPolicy.EVERY_BATCH);
+            LoadReport report = journal.recover(tracker);
+            System.out.println("Loaded " + report.getLoadedSessions() + " saved sessions.");
+        } catch (IOException e) {
+            System.out.println("Could not open saved sessions, changes won't be saved: " + e.getMessage());
+            journal = null;
+        }
+
         System.out.println("Welcome to Study Tracker!");
         System.out.println("This is a demo - your job is to implement the TODO methods");
 
@@ -156,17 +192,12 @@ public class Main {
                 case 2:
                     // TODO: Implement view all sessions
                     System.out.println("Viewing all sessions...");
-                    for (StudySession s : tracker.getAllSessions()) {
-                        System.out.println(s.toString());
-                    }
+                    printSessions(tracker.sessionsView());
                     break;
                 case 3:
                     // TODO: Implement view by subject
                     System.out.println("Viewing sessions by subject...");
-                    ArrayList<StudySession> sessionsBySubject = tracker.getSessionsBySubject(scanner.nextLine());
-                    for (StudySession s : sessionsBySubject) {
-                        System.out.println(s.toString());
-                    }
+                    printSessions(tracker.sessionsBySubjectView(scanner.nextLine()));
                     break;
                 case 4:
                     // TODO: Implement view statistics
@@ -179,15 +210,70 @@ public class Main {
                     System.out.print(tracker.getStudyStreak());
                     break;
                 case 5:
-                    // TODO: Implement save functionality
                     System.out.println("Saving and exiting...");
+                    if (journal != null) {
+                        try {
+                            tracker.compactJournal().join();
+                            journal.close();
+                        } catch (IOException | RuntimeException e) {
+                            System.out.println("Error saving sessions: " + e.getMessage());
+                        }
+                    }
                     isRunning = false;
                     break;
                 default:
                     System.out.println("Invalid option! Please try again.");
             }
-            scanner.close();
         }
+        // Closing the scanner also closes System.in, so only once we're done with it
+        scanner.close();
+    }
+
+    private static void printSessions(List<StudySession> sessions) {
+        try {
+            renderer.render(sessions, System.out);
+        } catch (IOException e) {
+            System.out.println("Error printing sessions: " + e.getMessage());
+        }
+    }
+
+    // Serve the tracker over CommandServer until the JVM is stopped (Ctrl+C),
+    // saving on the way out
+    private static void serve(int port) {
+        new File(DATA_DIRECTORY).mkdirs();
+        String file = DATA_DIRECTORY + File.separator + "server-sessions.bin";
+        SimpleFileStorage storage = new SimpleFileStorage(file);
+        ConcurrentStudyTracker tracker = new ConcurrentStudyTracker();
+        if (new File(file).exists()) {
+            LoadReport report = storage.loadSessionsBinary(tracker::addSession);
+            System.out.println("Loaded " + report.getLoadedSessions() + " saved sessions.");
+        }
+
+        CommandServer server = new CommandServer(tracker, storage);
+        try {
+            int boundPort = server.start(port);
+            System.out.println("Study Tracker server listening on 127.0.0.1:" + boundPort);
+        } catch (IOException e) {
+            System.out.println("Could not start server: " + e.getMessage());
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            System.out.println("Saving and stopping server...");
+            try {
+                server.close();
+            } catch (IOException e) {
+                System.out.println("Error stopping server: " + e.getMessage());
+            }
+            ConcurrentStudyTracker.Snapshot snapshot = tracker.snapshot();
+            try {
+                synchronized (storage) {
+                    storage.writeSessionsBinary(snapshot);
+                }
+                System.out.println("Saved " + snapshot.size() + " sessions.");
+            } catch (IOException e) {
+                System.out.println("Error saving sessions, they were not saved: " + e.getMessage());
+            }
+        }));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.studytracker;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+// Counters and latency histograms for tracker and storage operations.
+//
+// Off unless the JVM is started with -Dstudytracker.metrics=true. ENABLED is
+// a static final constant, so every instrumented call site is written as
+//     if (Metrics.ENABLED) { ... }
+// and the JIT removes the whole block when metrics are off.
+//
+// When on, the metrics are registered with JMX as com.studytracker:type=Metrics.
+// snapshot() reads them directly, and sinks added with addSink get a snapshot
+// on every publish(), e.g. to log them or push them to a monitoring system.
+public final class Metrics {
+    public static final boolean ENABLED = Boolean.getBoolean("studytracker.metrics");
+
+    private static final ConcurrentHashMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private static final CopyOnWriteArrayList<Consumer<MetricsSnapshot>> sinks = new CopyOnWriteArrayList<>();
+    private static ScheduledExecutorService publisher;
+
+    static final LatencyHistogram TRACKER_ADD = latency("tracker.add");
+    static final LatencyHistogram TRACKER_ADD_BATCH = latency("tracker.addAll");
+    static final LatencyHistogram TRACKER_QUERY = latency("tracker.query");
+    static final LatencyHistogram TRACKER_STATISTICS = latency("tracker.statistics");
+    static final LatencyHistogram STORAGE_SAVE = latency("storage.save");
+    static final LatencyHistogram STORAGE_LOAD = latency("storage.load");
+    static final LongAdder LOADED_SESSIONS = counter("storage.loadedSessions");
+    static final LongAdder SKIPPED_LINES = counter("storage.skippedLines");
+    static final LongAdder REJECTED_SETTERS = counter("session.rejectedSetters");
+    static final LongAdder REJECTED_SESSIONS = counter("tracker.rejectedSessions");
+
+    static {
+        if (ENABLED) {
+            registerMBean();
+        }
+    }
+
+    private Metrics() {
+    }
+
+    // The counter with this name, created on first use
+    public static LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, k -> new LongAdder());
+    }
+
+    // The latency histogram with this name, created on first use
+    public static LatencyHistogram latency(String name) {
+        return latencies.computeIfAbsent(name, k -> new LatencyHistogram());
+    }
+
+    public static MetricsSnapshot snapshot() {
+        TreeMap<String, Long> counterValues = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> counter : counters.entrySet()) {
+            counterValues.put(counter.getKey(), counter.getValue().sum());
+        }
+        TreeMap<String, LatencySummary> latencyValues = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> latency : latencies.entrySet()) {
+            latencyValues.put(latency.getKey(), latency.getValue().summarize());
+        }
+        return new MetricsSnapshot(System.currentTimeMillis(), counterValues, latencyValues);
+    }
+
+    public static void reset() {
+        for (LongAdder counter : counters.values()) {
+            counter.reset();
+        }
+        for (LatencyHistogram latency : latencies.values()) {
+            latency.reset();
+        }
+    }
+
+    public static void addSink(Consumer<MetricsSnapshot> sink) {
+        sinks.add(sink);
+    }
+
+    public static void removeSink(Consumer<MetricsSnapshot> sink) {
+        sinks.remove(sink);
+    }
+
+    // Take one snapshot and hand it to every sink
+    public static void publish() {
+        if (sinks.isEmpty()) {
+            return;
+        }
+        MetricsSnapshot snapshot = snapshot();
+        for (Consumer<MetricsSnapshot> sink : sinks) {
+            try {
+                sink.accept(snapshot);
+            } catch (RuntimeException e) {
+                System.out.println("Error publishing metrics: " + e.getMessage());
+            }
+        }
+    }
+
+    // Publish on a background daemon thread every `period`; cancel the returned future to stop
+    public static synchronized ScheduledFuture<?> publishEvery(long period, TimeUnit unit) {
+        if (publisher == null) {
+            publisher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "metrics-publisher");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return publisher.scheduleAtFixedRate(Metrics::publish, period, period, unit);
+    }
+
+    private static void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MBean(),
+                    new ObjectName("com.studytracker:type=Metrics"));
+        } catch (JMException e) {
+            System.out.println("Error registering metrics with JMX: " + e.getMessage());
+        }
+    }
+
+    private static final class MBean implements MetricsMXBean {
+        @Override
+        public Map<String, Long> getCounters() {
+            return snapshot().getCounters();
+        }
+
+        @Override
+        public Map<String, LatencySummary> getLatencies() {
+            return snapshot().getLatencies();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
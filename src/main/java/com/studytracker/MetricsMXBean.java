@@ -0,0 +1,12 @@
+package com.studytracker;
+
+import java.util.Map;
+
+// JMX view of Metrics, registered as com.studytracker:type=Metrics
+public interface MetricsMXBean {
+    Map<String, Long> getCounters();
+
+    Map<String, LatencySummary> getLatencies();
+
+    void reset();
+}
@@ -0,0 +1,42 @@
+package com.studytracker;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Every counter and latency histogram at one point in time, by name
+public class MetricsSnapshot {
+    private final long takenAtMillis;
+    private final Map<String, Long> counters;
+    private final Map<String, LatencySummary> latencies;
+
+    MetricsSnapshot(long takenAtMillis, TreeMap<String, Long> counters, TreeMap<String, LatencySummary> latencies) {
+        this.takenAtMillis = takenAtMillis;
+        this.counters = Collections.unmodifiableMap(counters);
+        this.latencies = Collections.unmodifiableMap(latencies);
+    }
+
+    public long getTakenAtMillis() {
+        return takenAtMillis;
+    }
+
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    public Map<String, LatencySummary> getLatencies() {
+        return latencies;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Long> counter : counters.entrySet()) {
+            sb.append(counter.getKey()).append(": ").append(counter.getValue()).append('\n');
+        }
+        for (Map.Entry<String, LatencySummary> latency : latencies.entrySet()) {
+            sb.append(latency.getKey()).append(": ").append(latency.getValue()).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,107 @@
+package com.studytracker;
+
+import java.time.LocalDate;
+
+// Pre-aggregated statistics for one subject (or all subjects) over one period.
+// Minutes are split at midnight, so a session that runs past midnight adds its
+// minutes to each day it covers. The session count and difficulty histogram
+// count each session once, in the period it started in.
+public class RollupBucket {
+    private final RollupPeriod period;
+    private final LocalDate periodStart;
+    private final String subject;
+    private final boolean total;
+    private long minutes;
+    private int sessionCount;
+    private final int[] difficultyCounts; // index 0 is difficulty 1
+
+    RollupBucket(RollupPeriod period, LocalDate periodStart, String subject) {
+        this(period, periodStart, subject, false);
+    }
+
+    // total: this bucket sums every subject rather than holding one
+    RollupBucket(RollupPeriod period, LocalDate periodStart, String subject, boolean total) {
+        this.period = period;
+        this.periodStart = periodStart;
+        this.subject = subject;
+        this.total = total;
+        this.difficultyCounts = new int[5];
+    }
+
+    private RollupBucket(RollupBucket other) {
+        this.period = other.period;
+        this.periodStart = other.periodStart;
+        this.subject = other.subject;
+        this.total = other.total;
+        this.minutes = other.minutes;
+        this.sessionCount = other.sessionCount;
+        this.difficultyCounts = other.difficultyCounts.clone();
+    }
+
+    void addMinutes(long minutes) {
+        this.minutes += minutes;
+    }
+
+    void addSession(int difficulty) {
+        sessionCount++;
+        if (difficulty >= 1 && difficulty <= 5) {
+            difficultyCounts[difficulty - 1]++;
+        }
+    }
+
+    RollupBucket copy() {
+        return new RollupBucket(this);
+    }
+
+    public RollupPeriod getPeriod() {
+        return period;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    // null both for sessions without a subject and for a total; use isTotal()
+    // to tell them apart
+    public String getSubject() {
+        return subject;
+    }
+
+    // True for a bucket that totals every subject (see SessionRollups.getTotals)
+    public boolean isTotal() {
+        return total;
+    }
+
+    public long getMinutes() {
+        return minutes;
+    }
+
+    public int getSessionCount() {
+        return sessionCount;
+    }
+
+    // How many sessions in this bucket had the given difficulty (1-5)
+    public int getDifficultyCount(int difficulty) {
+        if (difficulty < 1 || difficulty > 5) {
+            return 0;
+        }
+        return difficultyCounts[difficulty - 1];
+    }
+
+    public double getAverageDifficulty() {
+        if (sessionCount == 0) {
+            return 0.0;
+        }
+        long sum = 0;
+        for (int i = 0; i < difficultyCounts.length; i++) {
+            sum += (long) (i + 1) * difficultyCounts[i];
+        }
+        return (double) sum / sessionCount;
+    }
+
+    @Override
+    public String toString() {
+        String name = total ? "(all subjects)" : subject == null ? "(no subject)" : subject;
+        return String.format("%s %s %s: %d minutes in %d sessions", period, periodStart, name, minutes, sessionCount);
+    }
+}
@@ -0,0 +1,23 @@
+package com.studytracker;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+// Bucket sizes for SessionRollups. Each bucket is identified by the first day
+// of its period.
+public enum RollupPeriod {
+    DAY,
+    WEEK,  // ISO week, Monday to Sunday
+    MONTH;
+
+    public LocalDate startOf(LocalDate day) {
+        switch (this) {
+            case WEEK:
+                return day.with(DayOfWeek.MONDAY);
+            case MONTH:
+                return day.withDayOfMonth(1);
+            default:
+                return day;
+        }
+    }
+}
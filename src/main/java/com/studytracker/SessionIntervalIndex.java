@@ -0,0 +1,253 @@
+package com.studytracker;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Interval tree over session start/end times: an AVL tree ordered by start
+// time where every node also records the latest end time in its subtree.
+// Overlap queries skip any subtree whose latest end is before the range, so
+// they only visit the path down to the matches instead of every session.
+//
+// Sessions are treated as half-open intervals [start, end): a session from
+// 14:00 to 15:00 is active at 14:59 but not at 15:00, and doesn't overlap one
+// that starts at 15:00. Sessions missing a time or ending before they start
+// are not indexed. Times are kept as nanoseconds since 1970 (UTC), which
+// covers the years 1677-2262; times outside that are clamped.
+//
+// Nodes live in parallel primitive arrays, about 40 bytes per session.
+class SessionIntervalIndex {
+    private static final int NIL = -1;
+    private static final long MAX_SECONDS = Long.MAX_VALUE / 1_000_000_000L - 1;
+
+    private long[] starts;
+    private long[] ends;
+    private long[] maxEnds;
+    private int[] rows;
+    private int[] left;
+    private int[] right;
+    private byte[] heights;
+    private int size;
+    private int root = NIL;
+
+    SessionIntervalIndex() {
+        this(16);
+    }
+
+    SessionIntervalIndex(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        starts = new long[capacity];
+        ends = new long[capacity];
+        maxEnds = new long[capacity];
+        rows = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        heights = new byte[capacity];
+    }
+
+    // Index the session stored at `row`, if it has a valid time range
+    void add(int row, StudySession session) {
+        if (session == null || !session.hasDuration() || session.getEndTime().isBefore(session.getStartTime())) {
+            return;
+        }
+        if (size == starts.length) {
+            grow();
+        }
+        int node = size++;
+        starts[node] = toNanos(session.getStartTime());
+        ends[node] = toNanos(session.getEndTime());
+        maxEnds[node] = ends[node];
+        rows[node] = row;
+        left[node] = NIL;
+        right[node] = NIL;
+        heights[node] = 1;
+        root = insert(root, node);
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Rows of sessions with start < to and end > from, in start-time order
+    void overlapping(LocalDateTime from, LocalDateTime to, IntList result) {
+        overlapping(root, toNanos(from), toNanos(to), result);
+    }
+
+    // Rows of sessions that start at or after `from` and end at or before `to`
+    void containedIn(LocalDateTime from, LocalDateTime to, IntList result) {
+        containedIn(root, toNanos(from), toNanos(to), result);
+    }
+
+    // Rows of sessions active at `time`: start <= time < end
+    void activeAt(LocalDateTime time, IntList result) {
+        long t = toNanos(time);
+        overlapping(root, t, t == Long.MAX_VALUE ? t : t + 1, result);
+    }
+
+    private void overlapping(int node, long from, long to, IntList result) {
+        while (node != NIL && maxEnds[node] > from) {
+            overlapping(left[node], from, to, result);
+            if (starts[node] >= to) {
+                return; // everything to the right starts even later
+            }
+            if (ends[node] > from) {
+                result.add(rows[node]);
+            }
+            node = right[node];
+        }
+    }
+
+    private void containedIn(int node, long from, long to, IntList result) {
+        while (node != NIL) {
+            if (starts[node] >= from) {
+                containedIn(left[node], from, to, result);
+                if (starts[node] > to) {
+                    return;
+                }
+                if (ends[node] <= to) {
+                    result.add(rows[node]);
+                }
+            }
+            node = right[node];
+        }
+    }
+
+    // Every pair among `batch` that overlaps another session in the batch or
+    // one already in this index. `stored` resolves rows of indexed sessions.
+    List<SessionOverlap> findOverlaps(List<? extends StudySession> batch, SessionStore stored) {
+        ArrayList<SessionOverlap> overlaps = new ArrayList<>();
+        int count = 0;
+        int[] order = new int[batch.size()];
+        long[] batchStarts = new long[batch.size()];
+        long[] batchEnds = new long[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            StudySession session = batch.get(i);
+            if (session == null || !session.hasDuration() || session.getEndTime().isBefore(session.getStartTime())) {
+                continue;
+            }
+            batchStarts[i] = toNanos(session.getStartTime());
+            batchEnds[i] = toNanos(session.getEndTime());
+            order[count++] = i;
+        }
+
+        // Within the batch: sort by start and sweep forward from each session
+        // while the following ones start before it ends
+        Integer[] sorted = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = order[i];
+        }
+        Arrays.sort(sorted, (a, b) -> Long.compare(batchStarts[a], batchStarts[b]));
+        for (int i = 0; i < count; i++) {
+            int a = sorted[i];
+            for (int j = i + 1; j < count && batchStarts[sorted[j]] < batchEnds[a]; j++) {
+                int b = sorted[j];
+                if (batchEnds[b] > batchStarts[a]) {
+                    int first = Math.min(a, b);
+                    int second = Math.max(a, b);
+                    overlaps.add(new SessionOverlap(second, batch.get(second), first, batch.get(first)));
+                }
+            }
+        }
+
+        // Against the sessions already indexed
+        IntList matches = new IntList();
+        for (int i = 0; i < count; i++) {
+            int index = order[i];
+            matches.clear();
+            overlapping(root, batchStarts[index], batchEnds[index], matches);
+            for (int m = 0; m < matches.size(); m++) {
+                overlaps.add(new SessionOverlap(index, batch.get(index), -1, stored.get(matches.get(m))));
+            }
+        }
+        return overlaps;
+    }
+
+    private int insert(int node, int added) {
+        if (node == NIL) {
+            return added;
+        }
+        // Equal starts go right, so they stay in the order they were added
+        if (starts[added] < starts[node]) {
+            left[node] = insert(left[node], added);
+        } else {
+            right[node] = insert(right[node], added);
+        }
+        return rebalance(node);
+    }
+
+    private int rebalance(int node) {
+        update(node);
+        int balance = height(left[node]) - height(right[node]);
+        if (balance > 1) {
+            if (height(left[left[node]]) < height(right[left[node]])) {
+                left[node] = rotateLeft(left[node]);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(right[right[node]]) < height(left[right[node]])) {
+                right[node] = rotateRight(right[node]);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private int rotateRight(int node) {
+        int pivot = left[node];
+        left[node] = right[pivot];
+        right[pivot] = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private int rotateLeft(int node) {
+        int pivot = right[node];
+        right[node] = left[pivot];
+        left[pivot] = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(int node) {
+        heights[node] = (byte) (1 + Math.max(height(left[node]), height(right[node])));
+        long maxEnd = ends[node];
+        if (left[node] != NIL) {
+            maxEnd = Math.max(maxEnd, maxEnds[left[node]]);
+        }
+        if (right[node] != NIL) {
+            maxEnd = Math.max(maxEnd, maxEnds[right[node]]);
+        }
+        maxEnds[node] = maxEnd;
+    }
+
+    private int height(int node) {
+        return node == NIL ? 0 : heights[node];
+    }
+
+    private void grow() {
+        int capacity = starts.length + (starts.length >> 1) + 1;
+        starts = Arrays.copyOf(starts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+        maxEnds = Arrays.copyOf(maxEnds, capacity);
+        rows = Arrays.copyOf(rows, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        heights = Arrays.copyOf(heights, capacity);
+    }
+
+    private static long toNanos(LocalDateTime time) {
+        long seconds = time.toEpochSecond(ZoneOffset.UTC);
+        if (seconds > MAX_SECONDS) {
+            return Long.MAX_VALUE;
+        }
+        if (seconds < -MAX_SECONDS) {
+            return Long.MIN_VALUE;
+        }
+        return seconds * 1_000_000_000L + time.getNano();
+    }
+}
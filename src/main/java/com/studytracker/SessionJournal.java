@@ -0,0 +1,535 @@
+package com.studytracker;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+// Append-only write-ahead log for a StudyTracker. Adding a session encodes it
+// on the caller's thread and queues the bytes; a background writer thread
+// groups queued records into one write (and at most one fsync) per batch, so
+// the cost per session doesn't depend on how many sessions already exist.
+//
+// A record is the session as it was when added. Setter calls made after that
+// aren't logged, so treat sessions as immutable once they're in a journaled
+// tracker; an edit only reaches disk if compact() runs after it.
+//
+// Everything lives in one directory:
+//   snapshot-<gen>.bin  every session logged before generation <gen> started,
+//                       in BinarySessionFormat
+//   journal-<gen>.log   sessions added during generation <gen>, as frames of
+//                       [payload length (4)][CRC32 of payload (4)][payload], where
+//                       the payload is a varint count and self-contained records
+//
+// recover() loads the newest snapshot and replays the journals from its
+// generation on. A torn frame at the end of the last journal (from a crash
+// mid-write) is dropped. Older journals were complete when their generation
+// ended, so a bad frame in one, or a missing one, fails recovery with an
+// IOException rather than silently losing sessions. compact() starts a new
+// generation and writes the snapshot for it in the background, then deletes
+// the files it replaces.
+public class SessionJournal implements Closeable {
+    public enum FsyncPolicy {
+        EVERY_BATCH, // force to disk after every group commit
+        INTERVAL,    // force at most once per fsync interval
+        NEVER        // leave it to the OS; flush() and close() still force
+    }
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final String JOURNAL_PREFIX = "journal-";
+    private static final String JOURNAL_SUFFIX = ".log";
+    private static final int FRAME_HEADER = 8;
+    private static final int MAX_BATCH = 4096;
+
+    private final Path directory;
+    private final FsyncPolicy fsyncPolicy;
+    private long fsyncIntervalMillis = 1000;
+    private long compactionThreshold = 100_000;
+
+    private final LinkedBlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "session-journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Thread writer;
+    private volatile IOException failure;
+    private boolean closed;
+
+    // Owned by the writer thread once it's started
+    private FileChannel channel;
+    private long generation;
+    private long lastForce;
+    private boolean unforced;
+
+    // Owned by the thread that appends
+    private long recordsSinceCompaction;
+    private CompletableFuture<Void> pendingCompaction = CompletableFuture.completedFuture(null);
+
+    // Queue markers handled in order with the sessions around them
+    private static final Object CLOSE = new Object();
+
+    // Encoded records, queued by append and appendAll
+    private static final class Records {
+        final byte[] bytes;
+        final int count;
+
+        Records(byte[] bytes, int count) {
+            this.bytes = bytes;
+            this.count = count;
+        }
+    }
+
+    private static final class Sync {
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+    }
+
+    private static final class Rotate {
+        final CompletableFuture<Long> done = new CompletableFuture<>();
+    }
+
+    private SessionJournal(Path directory, FsyncPolicy fsyncPolicy) {
+        this.directory = directory;
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    public static SessionJournal open(String directory, FsyncPolicy fsyncPolicy) throws IOException {
+        Path path = Paths.get(directory);
+        Files.createDirectories(path);
+        return new SessionJournal(path, fsyncPolicy);
+    }
+
+    public void setFsyncIntervalMillis(long fsyncIntervalMillis) {
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+    }
+
+    // Compact once at least this many sessions (and at least as many as the
+    // tracker holds) have been journaled since the last snapshot
+    public void setCompactionThreshold(long compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    // Rebuild the tracker from the newest snapshot plus journal replay, then
+    // start logging the tracker's new sessions. Call once, on an empty tracker.
+    public LoadReport recover(StudyTracker tracker) throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("Journal already recovered");
+        }
+        long snapshotGeneration = newest(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        long loaded = 0;
+        long skipped = 0;
+        if (snapshotGeneration >= 0) {
+            try (FileChannel snapshot = FileChannel.open(snapshotPath(snapshotGeneration), StandardOpenOption.READ)) {
+                loaded += BinarySessionFormat.read(snapshot, tracker::addSession).getLoadedSessions();
+            }
+        }
+
+        generation = Math.max(snapshotGeneration, 0);
+        long newestJournal = newest(JOURNAL_PREFIX, JOURNAL_SUFFIX);
+        for (long gen = generation; gen <= newestJournal; gen++) {
+            Path journal = journalPath(gen);
+            if (!Files.exists(journal)) {
+                throw new IOException("Missing journal " + journal + "; journals up to generation "
+                        + newestJournal + " exist, so its sessions would be lost");
+            }
+            long[] counts = replay(journal, tracker, gen == newestJournal);
+            loaded += counts[0];
+            skipped += counts[1];
+            recordsSinceCompaction += counts[0];
+            generation = gen;
+        }
+        if (snapshotGeneration > 0) {
+            // Left behind if we stopped between writing a snapshot and cleaning up
+            deleteBefore(snapshotGeneration);
+        }
+
+        channel = openJournal(generation);
+        tracker.setJournal(this);
+        writer = new Thread(this::writeLoop, "session-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+        return new LoadReport(loaded, skipped);
+    }
+
+    // Queue a session to be logged. Returns immediately; use flush() to wait
+    // until it's on disk.
+    public void append(StudySession session) {
+        checkWritable();
+        queue.add(encode(List.of(session)));
+        recordsSinceCompaction++;
+    }
+
+    // Queue a batch; either every session is queued or, if the journal is
+    // closed or has failed, none is
+    public void appendAll(Collection<? extends StudySession> sessions) {
+        checkWritable();
+        ArrayList<Records> encoded = new ArrayList<>();
+        ArrayList<StudySession> chunk = new ArrayList<>(Math.min(sessions.size(), MAX_BATCH));
+        for (StudySession session : sessions) {
+            chunk.add(session);
+            if (chunk.size() == MAX_BATCH) {
+                encoded.add(encode(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            encoded.add(encode(chunk));
+        }
+        queue.addAll(encoded);
+        recordsSinceCompaction += sessions.size();
+    }
+
+    // Self-contained records for these sessions, as they are right now
+    private static Records encode(List<? extends StudySession> sessions) {
+        BinarySessionFormat.Output out = new BinarySessionFormat.Output(32 * sessions.size() + 16);
+        try {
+            for (StudySession session : sessions) {
+                BinarySessionFormat.writeSession(out, session, null);
+            }
+        } catch (IOException e) {
+            // An in-memory Output grows instead of writing anywhere
+            throw new UncheckedIOException(e);
+        }
+        return new Records(out.toByteArray(), sessions.size());
+    }
+
+    private void checkWritable() {
+        if (writer == null || closed) {
+            throw new IllegalStateException("Journal is not open");
+        }
+        IOException error = failure;
+        if (error != null) {
+            throw new UncheckedIOException("Journal write failed", error);
+        }
+    }
+
+    // Block until everything appended so far has been written and forced to disk
+    public void flush() throws IOException {
+        Sync sync = new Sync();
+        queue.add(sync);
+        await(sync.done);
+    }
+
+    boolean needsCompaction(int trackerSize) {
+        return recordsSinceCompaction >= Math.max(compactionThreshold, trackerSize) && pendingCompaction.isDone();
+    }
+
+    // Fold everything logged so far into a new snapshot. `sessions` must be the
+    // tracker's full contents as of this call; sessions appended afterwards go
+    // to the next journal. They're copied here and the copies are written in
+    // the background, so later edits can't change the snapshot while it's written.
+    public CompletableFuture<Void> compact(List<StudySession> sessions) {
+        ArrayList<StudySession> copies = new ArrayList<>(sessions.size());
+        for (StudySession session : sessions) {
+            copies.add(session == null ? null : session.copy());
+        }
+        Rotate rotate = new Rotate();
+        queue.add(rotate);
+        recordsSinceCompaction = 0;
+        CompletableFuture<Void> previous = pendingCompaction;
+        // A failed compaction leaves its journals in place, so the next one can still go ahead
+        pendingCompaction = previous.exceptionally(e -> null)
+                .thenCombine(rotate.done, (ignored, newGeneration) -> newGeneration)
+                .thenAcceptAsync(newGeneration -> {
+                    try {
+                        writeSnapshot(newGeneration, copies);
+                        deleteBefore(newGeneration);
+                    } catch (IOException e) {
+                        System.err.println("Session journal compaction failed: " + e.getMessage());
+                        throw new UncheckedIOException(e);
+                    }
+                }, compactor);
+        return pendingCompaction;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer == null || closed) {
+            return;
+        }
+        closed = true;
+        queue.add(CLOSE);
+        try {
+            writer.join();
+            pendingCompaction.exceptionally(e -> null).join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        compactor.shutdown();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void writeLoop() {
+        ArrayList<Object> batch = new ArrayList<>();
+        BinarySessionFormat.Output payload = new BinarySessionFormat.Output(64 * 1024);
+        CRC32 crc = new CRC32();
+        boolean running = true;
+        while (running) {
+            try {
+                Object first = fsyncPolicy == FsyncPolicy.INTERVAL && unforced
+                        ? queue.poll(fsyncIntervalMillis, TimeUnit.MILLISECONDS)
+                        : queue.take();
+                if (first == null) {
+                    force();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+
+                int count = 0;
+                for (Object item : batch) {
+                    if (item instanceof Records) {
+                        payload.putBytes(((Records) item).bytes);
+                        count += ((Records) item).count;
+                        // Keep frames small however big the batches were
+                        if (count >= MAX_BATCH) {
+                            writeFrame(payload, count, crc);
+                            count = 0;
+                        }
+                        continue;
+                    }
+                    // Markers apply after the sessions queued before them
+                    writeFrame(payload, count, crc);
+                    count = 0;
+                    if (item instanceof Sync) {
+                        force();
+                        ((Sync) item).done.complete(null);
+                    } else if (item instanceof Rotate) {
+                        force();
+                        channel.close();
+                        generation++;
+                        channel = openJournal(generation);
+                        ((Rotate) item).done.complete(generation);
+                    } else if (item == CLOSE) {
+                        force();
+                        channel.close();
+                        running = false;
+                    }
+                }
+                writeFrame(payload, count, crc);
+                if (fsyncPolicy == FsyncPolicy.EVERY_BATCH
+                        || (fsyncPolicy == FsyncPolicy.INTERVAL && System.currentTimeMillis() - lastForce >= fsyncIntervalMillis)) {
+                    force();
+                }
+            } catch (IOException e) {
+                failure = e;
+                System.err.println("Session journal write failed: " + e.getMessage());
+                failPending(batch, e);
+                running = false;
+            } catch (InterruptedException e) {
+                // Fail later appends rather than queue sessions nothing will write
+                failure = new InterruptedIOException("Session journal writer was interrupted");
+                failPending(batch, failure);
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            batch.clear();
+        }
+    }
+
+    private void writeFrame(BinarySessionFormat.Output payload, int count, CRC32 crc) throws IOException {
+        if (count == 0) {
+            return;
+        }
+        // Payload so far holds the records; prefix them with the count
+        ByteBuffer records = payload.buffer();
+        records.flip();
+        BinarySessionFormat.Output countBytes = new BinarySessionFormat.Output(10);
+        countBytes.putVarint(count);
+        ByteBuffer countBuffer = countBytes.buffer();
+        countBuffer.flip();
+
+        crc.reset();
+        crc.update(countBuffer.duplicate());
+        crc.update(records.duplicate());
+        ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER);
+        header.putInt(countBuffer.remaining() + records.remaining()).putInt((int) crc.getValue()).flip();
+
+        ByteBuffer[] frame = {header, countBuffer, records};
+        while (records.hasRemaining()) {
+            channel.write(frame);
+        }
+        records.clear();
+        unforced = true;
+    }
+
+    private void force() throws IOException {
+        if (unforced) {
+            channel.force(false);
+            unforced = false;
+        }
+        lastForce = System.currentTimeMillis();
+    }
+
+    private void failPending(List<Object> batch, IOException e) {
+        ArrayList<Object> pending = new ArrayList<>(batch);
+        queue.drainTo(pending);
+        for (Object item : pending) {
+            if (item instanceof Sync) {
+                ((Sync) item).done.completeExceptionally(e);
+            } else if (item instanceof Rotate) {
+                ((Rotate) item).done.completeExceptionally(e);
+            }
+        }
+    }
+
+    // Replay one journal into the tracker; returns {sessions, 1 if a torn frame was dropped}.
+    // Only the newest journal may end in a torn frame; in an older one it's corruption.
+    private long[] replay(Path journal, StudyTracker tracker, boolean newest) throws IOException {
+        long sessions = 0;
+        try (FileChannel in = FileChannel.open(journal, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long position = 0;
+            ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER);
+            CRC32 crc = new CRC32();
+            while (position + FRAME_HEADER <= size) {
+                header.clear();
+                readFully(in, header, position);
+                header.flip();
+                int length = header.getInt();
+                int checksum = header.getInt();
+                if (length <= 0 || position + FRAME_HEADER + length > size) {
+                    break;
+                }
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                readFully(in, payload, position + FRAME_HEADER);
+                payload.flip();
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+
+                BinarySessionFormat.Input records = new BinarySessionFormat.Input(payload);
+                long count = records.getVarint();
+                for (long i = 0; i < count; i++) {
+                    tracker.addSession(BinarySessionFormat.readSession(records, null));
+                }
+                sessions += count;
+                position += FRAME_HEADER + length;
+            }
+            long torn = size - position;
+            if (torn > 0 && !newest) {
+                throw new IOException("Corrupt journal " + journal + " at byte " + position + "; "
+                        + torn + " bytes after it can't be replayed");
+            }
+            if (torn > 0) {
+                System.err.println("Dropping " + torn + " bytes of incomplete journal data in " + journal);
+                in.truncate(position);
+            }
+            return new long[] {sessions, torn > 0 ? 1 : 0};
+        }
+    }
+
+    private static void readFully(FileChannel in, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = in.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of journal");
+            }
+            position += read;
+        }
+    }
+
+    private void writeSnapshot(long snapshotGeneration, List<StudySession> sessions) throws IOException {
+        Path target = snapshotPath(snapshotGeneration);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            BinarySessionFormat.write(out, sessions);
+            out.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // Remove snapshots and journals made obsolete by the snapshot for `keepFrom`
+    private void deleteBefore(long keepFrom) throws IOException {
+        File[] files = directory.toFile().listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            long gen = parseGeneration(name, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+            if (gen < 0) {
+                gen = parseGeneration(name, JOURNAL_PREFIX, JOURNAL_SUFFIX);
+            }
+            if (gen >= 0 && gen < keepFrom) {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+    }
+
+    private long newest(String prefix, String suffix) {
+        long newest = -1;
+        File[] files = directory.toFile().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                newest = Math.max(newest, parseGeneration(file.getName(), prefix, suffix));
+            }
+        }
+        return newest;
+    }
+
+    private static long parseGeneration(String name, String prefix, String suffix) {
+        if (!name.startsWith(prefix) || !name.endsWith(suffix)) {
+            return -1;
+        }
+        String digits = name.substring(prefix.length(), name.length() - suffix.length());
+        if (digits.isEmpty() || digits.length() > 18) {
+            return -1;
+        }
+        for (int i = 0; i < digits.length(); i++) {
+            if (!Character.isDigit(digits.charAt(i))) {
+                return -1;
+            }
+        }
+        return Long.parseLong(digits);
+    }
+
+    private FileChannel openJournal(long gen) throws IOException {
+        return FileChannel.open(journalPath(gen), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private Path snapshotPath(long gen) {
+        return directory.resolve(SNAPSHOT_PREFIX + gen + SNAPSHOT_SUFFIX);
+    }
+
+    private Path journalPath(long gen) {
+        return directory.resolve(JOURNAL_PREFIX + gen + JOURNAL_SUFFIX);
+    }
+
+    private static void await(CompletableFuture<?> future) throws IOException {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
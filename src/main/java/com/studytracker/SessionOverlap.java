@@ -0,0 +1,54 @@
+package com.studytracker;
+
+import java.util.Objects;
+
+// Two sessions whose time ranges overlap, found by StudyTracker.findOverlaps.
+// `session` is always from the checked batch; `other` is either an earlier
+// session in the same batch or one already in the tracker.
+public class SessionOverlap {
+    private final int batchIndex;
+    private final StudySession session;
+    private final int otherBatchIndex;
+    private final StudySession other;
+
+    SessionOverlap(int batchIndex, StudySession session, int otherBatchIndex, StudySession other) {
+        this.batchIndex = batchIndex;
+        this.session = session;
+        this.otherBatchIndex = otherBatchIndex;
+        this.other = other;
+    }
+
+    public int getBatchIndex() {
+        return batchIndex;
+    }
+
+    public StudySession getSession() {
+        return session;
+    }
+
+    // Position of the other session in the batch, or -1 if it's already in the tracker
+    public int getOtherBatchIndex() {
+        return otherBatchIndex;
+    }
+
+    public StudySession getOther() {
+        return other;
+    }
+
+    public boolean isWithTracker() {
+        return otherBatchIndex < 0;
+    }
+
+    // Same start, end and subject: most likely the same session imported twice
+    public boolean isDuplicate() {
+        return session.getStartTime().equals(other.getStartTime())
+                && session.getEndTime().equals(other.getEndTime())
+                && Objects.equals(session.getSubject(), other.getSubject());
+    }
+
+    @Override
+    public String toString() {
+        String where = isWithTracker() ? "a tracked session" : "batch #" + otherBatchIndex;
+        return "batch #" + batchIndex + (isDuplicate() ? " duplicates " : " overlaps ") + where;
+    }
+}
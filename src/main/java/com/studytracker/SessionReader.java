@@ -0,0 +1,120 @@
+package com.studytracker;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Reads sessions one line at a time from the CSV format written by
+// SimpleFileStorage (startTime,endTime,subject). Only the current line is held
+// in memory. Malformed lines are skipped and counted; blank lines are ignored.
+public class SessionReader implements Iterator<StudySession>, Closeable {
+    private final BufferedReader reader;
+    private final SubjectDictionary subjects;
+    private StudySession next;
+    private long skippedLines;
+    private long loadedSessions;
+
+    public SessionReader(BufferedReader reader) {
+        this(reader, null);
+    }
+
+    // Intern subjects through a dictionary so sessions share one String per subject
+    public SessionReader(BufferedReader reader, SubjectDictionary subjects) {
+        this.reader = reader;
+        this.subjects = subjects;
+    }
+
+    // Parse one CSV line, or return null if it is malformed
+    static StudySession parseLine(String line) {
+        return parseLine(line, null);
+    }
+
+    static StudySession parseLine(String line, SubjectDictionary subjects) {
+        int firstComma = line.indexOf(',');
+        if (firstComma < 0) {
+            return null;
+        }
+        int secondComma = line.indexOf(',', firstComma + 1);
+        if (secondComma < 0) {
+            return null;
+        }
+        LocalDateTime start = TimestampParser.parse(line, 0, firstComma);
+        LocalDateTime end = TimestampParser.parse(line, firstComma + 1, secondComma);
+        if (start == null || end == null) {
+            return null;
+        }
+        // Everything after the second comma is the subject, so subjects may contain commas
+        String subject = line.substring(secondComma + 1);
+        return new StudySession(start, end, subjects == null ? subject : subjects.intern(subject));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                StudySession session = parseLine(line, subjects);
+                if (session == null) {
+                    skippedLines++;
+                    continue;
+                }
+                next = session;
+                loadedSessions++;
+                return true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return false;
+    }
+
+    @Override
+    public StudySession next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        StudySession session = next;
+        next = null;
+        return session;
+    }
+
+    // A lazy stream over the remaining sessions. Closing the stream closes the reader.
+    public Stream<StudySession> stream() {
+        Spliterator<StudySession> spliterator = Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public long getSkippedLines() {
+        return skippedLines;
+    }
+
+    public long getLoadedSessions() {
+        return loadedSessions;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
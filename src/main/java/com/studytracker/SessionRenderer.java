@@ -0,0 +1,152 @@
+package com.studytracker;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+// Writes session listings, one StudySession.toString() line per session, for
+// dumps far too big to print a line at a time. Lines are appended to one
+// reusable text buffer, encoded in bulk into a reusable byte buffer and
+// written to the channel 64 KB at a time. Nothing is allocated per session
+// unless caching is on.
+//
+// A PrintStream such as System.out gets the text 64 KB at a time and encodes
+// it with its own charset, so the output matches println whatever the
+// console encoding is. The renderer's charset only applies to raw streams
+// and channels.
+//
+// With setCacheLines(true) each session keeps its formatted line until it is
+// changed, so listing the same sessions again skips formatting. That costs a
+// String per session, so it's off by default.
+//
+// Not thread-safe; use one renderer per thread.
+public class SessionRenderer {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final CharsetEncoder encoder;
+    private final StringBuilder text = new StringBuilder(BUFFER_SIZE + 256);
+    private char[] chars = new char[BUFFER_SIZE + 256];
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private boolean cacheLines;
+
+    // Raw streams and channels get the default charset
+    public SessionRenderer() {
+        this(Charset.defaultCharset());
+    }
+
+    public SessionRenderer(Charset charset) {
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    public void setCacheLines(boolean cacheLines) {
+        this.cacheLines = cacheLines;
+    }
+
+    // Write every session to the stream and flush it; returns the number of lines
+    public long render(Iterable<StudySession> sessions, OutputStream out) throws IOException {
+        long lines = render(sessions, Channels.newChannel(out));
+        out.flush();
+        return lines;
+    }
+
+    // Write every session through the stream's own encoder and flush it;
+    // returns the number of lines. PrintStream hides write errors, so this
+    // throws if the stream reports one afterwards.
+    public long render(Iterable<StudySession> sessions, PrintStream out) throws IOException {
+        long lines = 0;
+        for (StudySession session : sessions) {
+            appendLine(session);
+            lines++;
+            if (text.length() >= BUFFER_SIZE) {
+                drain(out);
+            }
+        }
+        drain(out);
+        out.flush();
+        if (out.checkError()) {
+            throw new IOException("Error writing to the output stream");
+        }
+        return lines;
+    }
+
+    public long render(Iterable<StudySession> sessions, WritableByteChannel out) throws IOException {
+        long lines = 0;
+        for (StudySession session : sessions) {
+            appendLine(session);
+            lines++;
+            if (text.length() >= BUFFER_SIZE) {
+                drain(out);
+            }
+        }
+        drain(out);
+        return lines;
+    }
+
+    // Same text as System.out.println(session.toString()), or "null" for a null session
+    private void appendLine(StudySession session) {
+        if (session == null || session.getStartTime() == null) {
+            // toString() reports the missing start time and returns null
+            text.append(session == null ? null : session.toString());
+        } else if (cacheLines) {
+            text.append(session.cachedLine());
+        } else {
+            session.appendTo(text);
+        }
+        text.append(LINE_SEPARATOR);
+    }
+
+    // Hand the pending text to the stream as one String
+    private void drain(PrintStream out) {
+        if (text.length() > 0) {
+            out.append(text);
+            text.setLength(0);
+        }
+    }
+
+    // Encode the pending text and write it all out
+    private void drain(WritableByteChannel out) throws IOException {
+        int length = text.length();
+        if (length == 0) {
+            return;
+        }
+        if (chars.length < length) {
+            chars = new char[length];
+        }
+        // Array-backed buffers let the encoder use its fast path
+        text.getChars(0, length, chars, 0);
+        text.setLength(0);
+        CharBuffer pending = CharBuffer.wrap(chars, 0, length);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(pending, bytes, true);
+            if (result.isOverflow()) {
+                write(out);
+                continue;
+            }
+            break;
+        }
+        while (encoder.flush(bytes).isOverflow()) {
+            write(out);
+        }
+        write(out);
+    }
+
+    private void write(WritableByteChannel out) throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            out.write(bytes);
+        }
+        bytes.clear();
+    }
+}
@@ -0,0 +1,144 @@
+package com.studytracker;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+// Day, ISO-week and month buckets per subject, updated as sessions are added
+// (see StudyTracker.getRollups). Report queries walk only the buckets in the
+// requested range, however many sessions went into them. Results are copies,
+// so they don't change as more sessions arrive.
+public class SessionRollups {
+    private static final Comparator<RollupBucket> BY_SUBJECT =
+            Comparator.comparing(RollupBucket::getSubject, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    // Buckets for one period: the total plus one bucket per subject, with
+    // sessions that have no subject under null
+    private static final class PeriodBuckets {
+        final RollupBucket total;
+        final HashMap<String, RollupBucket> bySubject = new HashMap<>();
+
+        PeriodBuckets(RollupPeriod period, LocalDate start) {
+            this.total = new RollupBucket(period, start, null, true);
+        }
+    }
+
+    private final EnumMap<RollupPeriod, TreeMap<LocalDate, PeriodBuckets>> periods;
+
+    SessionRollups() {
+        periods = new EnumMap<>(RollupPeriod.class);
+        for (RollupPeriod period : RollupPeriod.values()) {
+            periods.put(period, new TreeMap<>());
+        }
+    }
+
+    void add(StudySession session) {
+        LocalDateTime start = session == null ? null : session.getStartTime();
+        if (start == null) {
+            return;
+        }
+        String subject = session.getSubject();
+        LocalDate startDay = start.toLocalDate();
+        for (RollupPeriod period : RollupPeriod.values()) {
+            PeriodBuckets buckets = bucketsFor(period, startDay);
+            buckets.total.addSession(session.getDifficulty());
+            subjectBucket(buckets, period, subject).addSession(session.getDifficulty());
+        }
+
+        LocalDateTime end = session.getEndTime();
+        if (end == null) {
+            return;
+        }
+        LocalDate endDay = end.toLocalDate();
+        if (!endDay.isAfter(startDay)) {
+            addMinutes(startDay, subject, session.getDurationInMinutes());
+            return;
+        }
+
+        // Split at each midnight. Each day gets the whole minutes elapsed by the
+        // end of its part minus those elapsed by its start, so the parts add up
+        // to exactly getDurationInMinutes().
+        long elapsedMinutes = 0;
+        for (LocalDate day = startDay; day.isBefore(endDay); day = day.plusDays(1)) {
+            long minutesAtMidnight = secondsBetween(start, day.plusDays(1).atStartOfDay()) / 60;
+            addMinutes(day, subject, minutesAtMidnight - elapsedMinutes);
+            elapsedMinutes = minutesAtMidnight;
+        }
+        addMinutes(endDay, subject, session.getDurationInMinutes() - elapsedMinutes);
+    }
+
+    // Every subject's bucket for each period starting between `from` and `to`
+    // (the period containing `from` included), by period then subject
+    public List<RollupBucket> getBuckets(RollupPeriod period, LocalDate from, LocalDate to) {
+        ArrayList<RollupBucket> result = new ArrayList<>();
+        for (PeriodBuckets buckets : range(period, from, to).values()) {
+            int first = result.size();
+            for (RollupBucket bucket : buckets.bySubject.values()) {
+                result.add(bucket.copy());
+            }
+            result.subList(first, result.size()).sort(BY_SUBJECT);
+        }
+        return result;
+    }
+
+    // One subject's buckets over the range, oldest first
+    public List<RollupBucket> getSubjectBuckets(RollupPeriod period, String subject, LocalDate from, LocalDate to) {
+        ArrayList<RollupBucket> result = new ArrayList<>();
+        for (PeriodBuckets buckets : range(period, from, to).values()) {
+            RollupBucket bucket = buckets.bySubject.get(subject);
+            if (bucket != null) {
+                result.add(bucket.copy());
+            }
+        }
+        return result;
+    }
+
+    // All-subject totals over the range, oldest first
+    public List<RollupBucket> getTotals(RollupPeriod period, LocalDate from, LocalDate to) {
+        ArrayList<RollupBucket> result = new ArrayList<>();
+        for (PeriodBuckets buckets : range(period, from, to).values()) {
+            result.add(buckets.total.copy());
+        }
+        return result;
+    }
+
+    private NavigableMap<LocalDate, PeriodBuckets> range(RollupPeriod period, LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            return new TreeMap<>();
+        }
+        return periods.get(period).subMap(period.startOf(from), true, to, true);
+    }
+
+    private void addMinutes(LocalDate day, String subject, long minutes) {
+        for (RollupPeriod period : RollupPeriod.values()) {
+            PeriodBuckets buckets = bucketsFor(period, day);
+            buckets.total.addMinutes(minutes);
+            subjectBucket(buckets, period, subject).addMinutes(minutes);
+        }
+    }
+
+    private PeriodBuckets bucketsFor(RollupPeriod period, LocalDate day) {
+        LocalDate start = period.startOf(day);
+        return periods.get(period).computeIfAbsent(start, k -> new PeriodBuckets(period, k));
+    }
+
+    private static RollupBucket subjectBucket(PeriodBuckets buckets, RollupPeriod period, String subject) {
+        return buckets.bySubject.computeIfAbsent(subject, k -> new RollupBucket(period, buckets.total.getPeriodStart(), k));
+    }
+
+    // Whole seconds from a to b, rounded down the same way as StudySession's duration
+    private static long secondsBetween(LocalDateTime a, LocalDateTime b) {
+        long seconds = b.toEpochSecond(ZoneOffset.UTC) - a.toEpochSecond(ZoneOffset.UTC);
+        if (b.getNano() < a.getNano()) {
+            seconds--;
+        }
+        return seconds;
+    }
+}
@@ -0,0 +1,217 @@
+package com.studytracker;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Every statistic over a list of sessions, computed in one pass. compute()
+// splits the list across a fork-join pool: each leaf task accumulates its
+// slice into its own SessionStatistics and the partial results are merged on
+// the way back up. Everything is exact sums and sets, so the answer doesn't
+// depend on how the list was split and matches StudyTracker's own getters.
+public class SessionStatistics {
+    public static final int DEFAULT_THRESHOLD = 10_000;
+
+    private int sessionCount;         // including null sessions, like StudyTracker
+    private long totalMinutes;
+    private long weightedDifficulty;  // sum of difficulty * minutes
+    private long weightedMinutes;     // minutes of sessions that went into weightedDifficulty
+    private final HashMap<String, long[]> bySubject = new HashMap<>(); // {minutes, sessions}
+    private HashSet<LocalDate> days = new HashSet<>();
+    private int currentStreak;
+    private int longestStreak;
+
+    private SessionStatistics() {
+    }
+
+    // Single-threaded, in the caller
+    public static SessionStatistics compute(List<StudySession> sessions) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        SessionStatistics stats = new SessionStatistics();
+        stats.accumulate(sessions, 0, sessions.size());
+        stats.finish();
+        if (Metrics.ENABLED) {
+            Metrics.TRACKER_STATISTICS.recordSince(start);
+        }
+        return stats;
+    }
+
+    public static SessionStatistics compute(List<StudySession> sessions, ForkJoinPool pool) {
+        return compute(sessions, pool, DEFAULT_THRESHOLD);
+    }
+
+    // Slices of at most `threshold` sessions are processed by one task. The list
+    // must support fast random access and must not change during the call.
+    public static SessionStatistics compute(List<StudySession> sessions, ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be at least 1");
+        }
+        if (sessions.size() <= threshold) {
+            return compute(sessions);
+        }
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        SessionStatistics stats = pool.invoke(new Task(sessions, 0, sessions.size(), threshold));
+        stats.finish();
+        if (Metrics.ENABLED) {
+            Metrics.TRACKER_STATISTICS.recordSince(start);
+        }
+        return stats;
+    }
+
+    private void accumulate(List<StudySession> sessions, int from, int to) {
+        sessionCount += to - from;
+        for (int i = from; i < to; i++) {
+            StudySession session = sessions.get(i);
+            if (session == null) {
+                continue;
+            }
+            int minutes = session.getDurationInMinutes();
+            totalMinutes += minutes;
+            if (minutes > 0) {
+                weightedDifficulty += (long) session.getDifficulty() * minutes;
+                weightedMinutes += minutes;
+            }
+            long[] subject = bySubject.computeIfAbsent(session.getSubject(), k -> new long[2]);
+            subject[0] += minutes;
+            subject[1]++;
+            if (session.getStartTime() != null) {
+                days.add(session.getStartTime().toLocalDate());
+            }
+        }
+    }
+
+    private void merge(SessionStatistics other) {
+        sessionCount += other.sessionCount;
+        totalMinutes += other.totalMinutes;
+        weightedDifficulty += other.weightedDifficulty;
+        weightedMinutes += other.weightedMinutes;
+        for (Map.Entry<String, long[]> entry : other.bySubject.entrySet()) {
+            long[] subject = bySubject.computeIfAbsent(entry.getKey(), k -> new long[2]);
+            subject[0] += entry.getValue()[0];
+            subject[1] += entry.getValue()[1];
+        }
+        if (other.days.size() > days.size()) {
+            HashSet<LocalDate> smaller = days;
+            days = other.days;
+            days.addAll(smaller);
+        } else {
+            days.addAll(other.days);
+        }
+    }
+
+    // Streaks need the merged set of days, so they're worked out once at the end
+    private void finish() {
+        ArrayList<LocalDate> sorted = new ArrayList<>(days);
+        Collections.sort(sorted);
+        int run = 0;
+        for (int i = 0; i < sorted.size(); i++) {
+            if (i > 0 && ChronoUnit.DAYS.between(sorted.get(i - 1), sorted.get(i)) == 1) {
+                run++;
+            } else {
+                run = 1;
+            }
+            longestStreak = Math.max(longestStreak, run);
+        }
+        currentStreak = run;
+    }
+
+    public int getSessionCount() {
+        return sessionCount;
+    }
+
+    // Wraps around past Integer.MAX_VALUE exactly like StudyTracker.getTotalStudyMinutes
+    public int getTotalStudyMinutes() {
+        return (int) totalMinutes;
+    }
+
+    public long getTotalStudyMinutesExact() {
+        return totalMinutes;
+    }
+
+    public double getAverageSessionLength() {
+        if (sessionCount == 0) {
+            return 0.0;
+        }
+        return (double) totalMinutes / sessionCount;
+    }
+
+    // Consecutive days ending on the most recent study day
+    public int getStudyStreak() {
+        return currentStreak;
+    }
+
+    public int getLongestStreak() {
+        return longestStreak;
+    }
+
+    public int getStudyDayCount() {
+        return days.size();
+    }
+
+    // Average difficulty weighted by minutes studied, so a two-hour session
+    // counts four times as much as a half-hour one. Sessions without a
+    // positive duration are left out.
+    public double getWeightedAverageDifficulty() {
+        if (weightedMinutes == 0) {
+            return 0.0;
+        }
+        return (double) weightedDifficulty / weightedMinutes;
+    }
+
+    // Subject -> total minutes; sessions without a subject are under null
+    public Map<String, Long> getMinutesBySubject() {
+        HashMap<String, Long> result = new HashMap<>();
+        for (Map.Entry<String, long[]> entry : bySubject.entrySet()) {
+            result.put(entry.getKey(), entry.getValue()[0]);
+        }
+        return result;
+    }
+
+    // Subject -> number of sessions
+    public Map<String, Integer> getSessionCountBySubject() {
+        HashMap<String, Integer> result = new HashMap<>();
+        for (Map.Entry<String, long[]> entry : bySubject.entrySet()) {
+            result.put(entry.getKey(), (int) entry.getValue()[1]);
+        }
+        return result;
+    }
+
+    private static final class Task extends RecursiveTask<SessionStatistics> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<StudySession> sessions;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        Task(List<StudySession> sessions, int from, int to, int threshold) {
+            this.sessions = sessions;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected SessionStatistics compute() {
+            if (to - from <= threshold) {
+                SessionStatistics stats = new SessionStatistics();
+                stats.accumulate(sessions, from, to);
+                return stats;
+            }
+            int mid = (from + to) >>> 1;
+            Task left = new Task(sessions, from, mid, threshold);
+            left.fork();
+            SessionStatistics right = new Task(sessions, mid, to, threshold).compute();
+            SessionStatistics result = left.join();
+            result.merge(right);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.studytracker;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// A place sessions are persisted: SimpleFileStorage (CSV and binary files) or
+// SqliteSessionStorage (an embedded database).
+//
+// The query methods answer the same questions as the StudyTracker methods of
+// the same name, straight from storage. The defaults here stream every stored
+// session through loadSessions without keeping them; a backend that can
+// filter and aggregate itself should override them.
+public interface SessionStorage {
+    // Replace everything stored with these sessions
+    void saveSessions(List<StudySession> sessions);
+
+    // Stream every stored session to the consumer, in the order they were saved
+    LoadReport loadSessions(Consumer<StudySession> consumer);
+
+    default ArrayList<StudySession> loadSessions() {
+        ArrayList<StudySession> sessions = new ArrayList<>();
+        loadSessions(sessions::add);
+        return sessions;
+    }
+
+    default LoadReport loadInto(StudyTracker tracker) {
+        return loadSessions(tracker::addSession);
+    }
+
+    // Sessions without a subject match every subject
+    default ArrayList<StudySession> getSessionsBySubject(String subject) {
+        ArrayList<StudySession> result = new ArrayList<>();
+        loadSessions(session -> {
+            if (session.getSubject() == null || session.getSubject().equals(subject)) {
+                result.add(session);
+            }
+        });
+        return result;
+    }
+
+    // Sessions that started on the given date
+    default ArrayList<StudySession> getSessionsOnDate(LocalDate date) {
+        return getSessionsBetween(date, date);
+    }
+
+    // Sessions that started between the two dates (both inclusive), ordered by date
+    default ArrayList<StudySession> getSessionsBetween(LocalDate from, LocalDate to) {
+        ArrayList<StudySession> result = new ArrayList<>();
+        if (from == null || to == null || from.isAfter(to)) {
+            return result;
+        }
+        loadSessions(session -> {
+            LocalDateTime start = session.getStartTime();
+            if (start != null && !start.toLocalDate().isBefore(from) && !start.toLocalDate().isAfter(to)) {
+                result.add(session);
+            }
+        });
+        // Stable, so sessions on the same day keep their saved order
+        result.sort(Comparator.comparing(session -> session.getStartTime().toLocalDate()));
+        return result;
+    }
+
+    default long getTotalStudyMinutes() {
+        long[] total = new long[1];
+        loadSessions(session -> total[0] += session.getDurationInMinutes());
+        return total[0];
+    }
+
+    // Subject -> total minutes; sessions without a subject are under null
+    default Map<String, Long> getMinutesBySubject() {
+        HashMap<String, Long> result = new HashMap<>();
+        loadSessions(session -> result.merge(session.getSubject(), (long) session.getDurationInMinutes(), Long::sum));
+        return result;
+    }
+}
@@ -0,0 +1,23 @@
+package com.studytracker;
+
+// Storage engine behind StudyTracker. Sessions are addressed by row number in
+// the order they were added.
+public interface SessionStore {
+    // Store a session and return its row number
+    int add(StudySession session);
+
+    // Return the session at the given row
+    StudySession get(int row);
+
+    int size();
+
+    // Make room for at least `capacity` rows before a batch of adds
+    default void ensureCapacity(int capacity) {
+    }
+
+    // The dictionary the store keeps subjects in, or null if it keeps the
+    // strings themselves. A tracker over this store uses the same one.
+    default SubjectDictionary getSubjectDictionary() {
+        return null;
+    }
+}
@@ -1,28 +1,53 @@
 package com.studytracker;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+public class SimpleFileStorage implements SessionStorage {
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    // Bounds for one memory-mapped chunk in loadParallel
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+    private static final long MAX_CHUNK_SIZE = 256L << 20;
 
-public class SimpleFileStorage {
     private String filename;
 
+    // Loaded subjects are interned here, so every load from this storage shares
+    // one String per subject
+    private SubjectDictionary subjects = new SubjectDictionary();
+
     public SimpleFileStorage(String filename) {
         this.filename = filename;
     }
 
+    // Share a dictionary with other storages or trackers
+    public void setSubjectDictionary(SubjectDictionary subjects) {
+        this.subjects = subjects;
+    }
+
     // Save all sessions to a text file
     // Format: startTime,endTime,subject,notes,difficulty
-    public void saveSessions(ArrayList<StudySession> sessions) {
+    @Override
+    public void saveSessions(List<StudySession> sessions) {
         // PrintWriter is a class that lets you write text to files easily
         // It has methods like println() that work just like System.out.println()
         // but write to a file instead of the console
 
         // This special syntax is called "try-with-resources" - it automatically
         // closes the file when we're done, even if an error occurs
-        try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
-            // FileWriter creates a connection to the file
-            // PrintWriter wraps around FileWriter to give us convenient methods
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        try (PrintWriter writer = new PrintWriter(
+                new OutputStreamWriter(new FileOutputStream(filename), StandardCharsets.UTF_8))) {
+            // FileOutputStream creates a connection to the file
+            // OutputStreamWriter turns our text into UTF-8 bytes, the encoding the loaders read
+            // PrintWriter wraps around it to give us convenient methods
 
             for (StudySession session : sessions) {
                 // writer.println() writes a line to the file and adds a newline
@@ -35,43 +60,209 @@ public class SimpleFileStorage {
         } catch (IOException e) {
             // IOException happens if the file can't be created or written to
             System.out.println("Error saving to file: " + e.getMessage());
+        } finally {
+            if (Metrics.ENABLED) {
+                Metrics.STORAGE_SAVE.recordSince(start);
+            }
+        }
+    }
+
+    // Save all sessions in the compact binary format (see BinarySessionFormat).
+    // Unlike the CSV format this keeps notes, difficulty and sub-second times.
+    public void saveSessionsBinary(List<StudySession> sessions) {
+        try {
+            writeSessionsBinary(sessions);
+        } catch (IOException e) {
+            System.out.println("Error saving to file: " + e.getMessage());
+        }
+    }
+
+    // Same as saveSessionsBinary, but a failure is thrown instead of printed,
+    // for callers that have to report whether the save worked
+    public void writeSessionsBinary(List<StudySession> sessions) throws IOException {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            BinarySessionFormat.write(channel, sessions);
+        } finally {
+            if (Metrics.ENABLED) {
+                Metrics.STORAGE_SAVE.recordSince(start);
+            }
+        }
+    }
+
+    // Read a file written by saveSessionsBinary
+    public ArrayList<StudySession> loadSessionsBinary() {
+        ArrayList<StudySession> sessions = new ArrayList<>();
+        loadSessionsBinary(sessions::add);
+        return sessions;
+    }
+
+    public LoadReport loadSessionsBinary(Consumer<StudySession> consumer) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            return recordLoad(start, BinarySessionFormat.read(channel, consumer, subjects));
+        } catch (IOException e) {
+            System.out.println("Error loading sessions: " + e.getMessage());
+            return new LoadReport(0, 0);
         }
     }
 
-    // TODO: Implement loadSessions() method
+    public LoadReport loadBinaryInto(StudyTracker tracker) {
+        return loadSessionsBinary(tracker::addSession);
+    }
+
     // Read the file and recreate StudySession objects
-    // Hint: Use BufferedReader and split each line by comma
+    // Malformed lines are skipped; a summary is printed if there were any
+    @Override
     public ArrayList<StudySession> loadSessions() {
         ArrayList<StudySession> sessions = new ArrayList<>();
+        LoadReport report = loadSessions(sessions::add);
+        if (report.getSkippedLines() > 0) {
+            System.out.println("Skipped " + report.getSkippedLines() + " malformed lines in " + filename);
+        }
+        return sessions;
+    }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                try {
-                    // Split by comma, but only into 3 parts maximum
-                    // This handles subjects with commas in them
-                    String[] parts = line.split(",", 3);
-                    
-                    // Check if we have all required parts
-                    if (parts.length < 3) {
-                        // Skip malformed lines (missing data)
-                        continue;
+    // Stream every session in the file to the consumer without holding the
+    // whole file in memory. Suitable for multi-GB exports.
+    // If reading fails partway, the report counts what the consumer got
+    // before the error.
+    @Override
+    public LoadReport loadSessions(Consumer<StudySession> consumer) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        long loaded = 0;
+        long skipped = 0;
+        try (SessionReader reader = openReader()) {
+            try {
+                while (reader.hasNext()) {
+                    consumer.accept(reader.next());
+                    loaded++;
+                }
+            } finally {
+                skipped = reader.getSkippedLines();
+            }
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("Error loading sessions after " + loaded + " sessions: " + e.getMessage());
+        }
+        return recordLoad(start, new LoadReport(loaded, skipped));
+    }
+
+    // Load the file straight into a tracker
+    @Override
+    public LoadReport loadInto(StudyTracker tracker) {
+        return loadSessions(tracker::addSession);
+    }
+
+    // Open the file for iteration or streaming; the caller must close the reader
+    public SessionReader openReader() throws IOException {
+        // UTF-8 like loadParallel, so both paths read the same subjects and notes
+        return new SessionReader(new BufferedReader(
+                new InputStreamReader(new FileInputStream(filename), StandardCharsets.UTF_8), READ_BUFFER_SIZE), subjects);
+    }
+
+    // Load the file into the tracker using every core in the common pool
+    public LoadReport loadParallel(StudyTracker tracker) {
+        return loadParallel(tracker, ForkJoinPool.commonPool());
+    }
+
+    // Memory-map the file, split it into newline-aligned chunks and parse each
+    // chunk on its own fork-join task. Chunks are added to the tracker in file
+    // order as they complete, so the result matches loadInto(tracker).
+    // The file is read as UTF-8. If a chunk fails, the chunks before it stay
+    // in the tracker and the report counts them.
+    public LoadReport loadParallel(StudyTracker tracker, ForkJoinPool pool) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        long loaded = 0;
+        long skipped = 0;
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            long[] boundaries = chunkBoundaries(channel, pool.getParallelism());
+
+            ArrayList<CsvChunkParser> chunks = new ArrayList<>();
+            try {
+                for (int i = 0; i + 1 < boundaries.length; i++) {
+                    CsvChunkParser chunk = new CsvChunkParser(channel, boundaries[i], boundaries[i + 1], subjects);
+                    pool.execute(chunk);
+                    chunks.add(chunk);
+                }
+
+                for (int i = 0; i < chunks.size(); i++) {
+                    CsvChunkParser chunk = chunks.get(i);
+                    chunk.join();
+                    for (StudySession session : chunk.getSessions()) {
+                        tracker.addSession(session);
+                        loaded++;
+                    }
+                    skipped += chunk.getSkippedLines();
+                    chunks.set(i, null); // let the parsed chunk be collected
+                }
+            } finally {
+                // After a failure, wait out the chunks still running so none
+                // of them maps the channel after it's closed
+                for (CsvChunkParser chunk : chunks) {
+                    if (chunk != null) {
+                        chunk.quietlyJoin();
                     }
-                    
-                    LocalDateTime start = LocalDateTime.parse(parts[0]);
-                    LocalDateTime end = LocalDateTime.parse(parts[1]);
-                    String subject = parts[2];
-                    StudySession session = new StudySession(start, end, subject);
-                    sessions.add(session);
-                } catch (Exception e) {
-                    // Skip lines that can't be parsed (invalid dates, etc.)
-                    // Just continue to the next line
-                    continue;
                 }
             }
-        } catch (IOException e) {
-            System.out.println("Error loading sessions: " + e.getMessage());
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("Error loading sessions after " + loaded + " sessions: " + e.getMessage());
         }
-        return sessions;
+        return recordLoad(start, new LoadReport(loaded, skipped));
+    }
+
+    // Record a finished load in the metrics and pass its report through
+    private static LoadReport recordLoad(long start, LoadReport report) {
+        if (Metrics.ENABLED) {
+            Metrics.STORAGE_LOAD.recordSince(start);
+            Metrics.LOADED_SESSIONS.add(report.getLoadedSessions());
+            Metrics.SKIPPED_LINES.add(report.getSkippedLines());
+        }
+        return report;
+    }
+
+    // Split the file into about four chunks per worker, moving each split point
+    // forward to just after the next newline
+    private static long[] chunkBoundaries(FileChannel channel, int parallelism) throws IOException {
+        long fileSize = channel.size();
+        long chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, fileSize / (parallelism * 4L) + 1));
+
+        ArrayList<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long position = 0;
+        while (position < fileSize) {
+            long split = position + chunkSize;
+            if (split >= fileSize) {
+                position = fileSize;
+            } else {
+                position = nextLineStart(channel, probe, split, fileSize);
+            }
+            boundaries.add(position);
+        }
+
+        long[] result = new long[boundaries.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = boundaries.get(i);
+        }
+        return result;
+    }
+
+    private static long nextLineStart(FileChannel channel, ByteBuffer probe, long from, long fileSize) throws IOException {
+        long position = from;
+        while (position < fileSize) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return fileSize;
     }
-}
\ No newline at end of file
+}
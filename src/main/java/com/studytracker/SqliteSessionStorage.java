@@ -0,0 +1,370 @@
+package com.studytracker;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Sessions in an SQLite database file, for histories too big to keep loaded.
+// Needs the sqlite-jdbc driver on the classpath at runtime (build.sh adds it);
+// only java.sql is needed to compile.
+//
+// One row per session, keeping everything the binary format keeps: times to
+// the nanosecond, subject, notes and difficulty. Each row also stores the
+// start day and the duration in minutes, so subject, date and total queries
+// run in SQL on the subject and start_day indexes and only the matching
+// sessions are read into the heap.
+//
+// Writes go through one prepared INSERT, sent in batches inside a single
+// transaction. The database runs in WAL mode, so readers on other connections
+// aren't blocked while a save is running.
+//
+// Not thread-safe; each instance has one connection, opened on first use.
+public class SqliteSessionStorage implements SessionStorage, Closeable {
+    private static final int BATCH_SIZE = 5000;
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String COLUMNS =
+            "start_second, start_nano, end_second, end_nano, subject, notes, difficulty";
+    private static final String INSERT = "INSERT INTO sessions (" + COLUMNS
+            + ", start_day, minutes) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM sessions";
+
+    private final String filename;
+    private Connection connection;
+
+    // Loaded subjects are interned here, as in SimpleFileStorage
+    private SubjectDictionary subjects = new SubjectDictionary();
+
+    public SqliteSessionStorage(String filename) {
+        this.filename = filename;
+    }
+
+    public void setSubjectDictionary(SubjectDictionary subjects) {
+        this.subjects = subjects;
+    }
+
+    // Replace every stored session with these, in one transaction. The indexes
+    // are dropped and built again once at the end, which is about twice as
+    // fast as updating them on every insert.
+    @Override
+    public void saveSessions(List<StudySession> sessions) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        try {
+            Connection db = connection();
+            inTransaction(db, () -> {
+                try (Statement statement = db.createStatement()) {
+                    statement.execute("DROP INDEX IF EXISTS sessions_subject");
+                    statement.execute("DROP INDEX IF EXISTS sessions_start_day");
+                    statement.executeUpdate("DELETE FROM sessions");
+                }
+                insert(db, sessions);
+                createIndexes(db);
+            });
+        } catch (SQLException e) {
+            System.out.println("Error saving to database: " + e.getMessage());
+        } finally {
+            if (Metrics.ENABLED) {
+                Metrics.STORAGE_SAVE.recordSince(start);
+            }
+        }
+    }
+
+    // Add sessions to what's already stored, in one transaction; returns how
+    // many were written (null entries are skipped)
+    public int appendSessions(Collection<? extends StudySession> sessions) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        int[] written = new int[1];
+        try {
+            Connection db = connection();
+            inTransaction(db, () -> written[0] = insert(db, sessions));
+        } catch (SQLException e) {
+            System.out.println("Error saving to database: " + e.getMessage());
+        } finally {
+            if (Metrics.ENABLED) {
+                Metrics.STORAGE_SAVE.recordSince(start);
+            }
+        }
+        return written[0];
+    }
+
+    @Override
+    public LoadReport loadSessions(Consumer<StudySession> consumer) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        long loaded = query(SELECT + " ORDER BY id", null, consumer);
+        if (Metrics.ENABLED) {
+            Metrics.STORAGE_LOAD.recordSince(start);
+            Metrics.LOADED_SESSIONS.add(loaded);
+        }
+        return new LoadReport(loaded, 0);
+    }
+
+    @Override
+    public ArrayList<StudySession> getSessionsBySubject(String subject) {
+        ArrayList<StudySession> result = new ArrayList<>();
+        query(SELECT + " WHERE subject = ? OR subject IS NULL ORDER BY id",
+                statement -> statement.setString(1, subject), result::add);
+        return result;
+    }
+
+    @Override
+    public ArrayList<StudySession> getSessionsOnDate(LocalDate date) {
+        ArrayList<StudySession> result = new ArrayList<>();
+        if (date != null) {
+            query(SELECT + " WHERE start_day = ? ORDER BY id",
+                    statement -> statement.setLong(1, date.toEpochDay()), result::add);
+        }
+        return result;
+    }
+
+    @Override
+    public ArrayList<StudySession> getSessionsBetween(LocalDate from, LocalDate to) {
+        ArrayList<StudySession> result = new ArrayList<>();
+        if (from != null && to != null && !from.isAfter(to)) {
+            query(SELECT + " WHERE start_day BETWEEN ? AND ? ORDER BY start_day, id", statement -> {
+                statement.setLong(1, from.toEpochDay());
+                statement.setLong(2, to.toEpochDay());
+            }, result::add);
+        }
+        return result;
+    }
+
+    @Override
+    public long getTotalStudyMinutes() {
+        try (Statement statement = connection().createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COALESCE(SUM(minutes), 0) FROM sessions")) {
+            return rows.next() ? rows.getLong(1) : 0;
+        } catch (SQLException e) {
+            System.out.println("Error querying database: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    // Sessions missing a start or end time count as 0 minutes, as in StudyTracker
+    public double getAverageSessionLength() {
+        try (Statement statement = connection().createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COALESCE(AVG(minutes), 0) FROM sessions")) {
+            return rows.next() ? rows.getDouble(1) : 0.0;
+        } catch (SQLException e) {
+            System.out.println("Error querying database: " + e.getMessage());
+            return 0.0;
+        }
+    }
+
+    public long getSessionCount() {
+        try (Statement statement = connection().createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM sessions")) {
+            return rows.next() ? rows.getLong(1) : 0;
+        } catch (SQLException e) {
+            System.out.println("Error querying database: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public Map<String, Long> getMinutesBySubject() {
+        HashMap<String, Long> result = new HashMap<>();
+        try (Statement statement = connection().createStatement();
+             ResultSet rows = statement.executeQuery("SELECT subject, SUM(minutes) FROM sessions GROUP BY subject")) {
+            while (rows.next()) {
+                result.put(subjects.intern(rows.getString(1)), rows.getLong(2));
+            }
+        } catch (SQLException e) {
+            System.out.println("Error querying database: " + e.getMessage());
+        }
+        return result;
+    }
+
+    // Consecutive study days ending at the most recent one, as in StudyTracker.
+    // Walks the start_day index backwards and stops at the first gap.
+    public int getStudyStreak() {
+        int streak = 0;
+        try (Statement statement = connection().createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT DISTINCT start_day FROM sessions WHERE start_day IS NOT NULL ORDER BY start_day DESC")) {
+            long expected = 0;
+            while (rows.next()) {
+                long day = rows.getLong(1);
+                if (streak > 0 && day != expected) {
+                    break;
+                }
+                streak++;
+                expected = day - 1;
+            }
+        } catch (SQLException e) {
+            System.out.println("Error querying database: " + e.getMessage());
+        }
+        return streak;
+    }
+
+    @Override
+    public void close() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.out.println("Error closing database: " + e.getMessage());
+        }
+        connection = null;
+    }
+
+    // Open the database and create the table and indexes if they're missing
+    private Connection connection() throws SQLException {
+        if (connection != null) {
+            return connection;
+        }
+        Connection db = DriverManager.getConnection("jdbc:sqlite:" + filename);
+        try (Statement statement = db.createStatement()) {
+            statement.execute("PRAGMA journal_mode=WAL");
+            // With WAL this is still crash-safe; only the last commits can be lost on power failure
+            statement.execute("PRAGMA synchronous=NORMAL");
+            statement.execute("CREATE TABLE IF NOT EXISTS sessions ("
+                    + "id INTEGER PRIMARY KEY, "
+                    + "start_second INTEGER, start_nano INTEGER, "
+                    + "end_second INTEGER, end_nano INTEGER, "
+                    + "subject TEXT, notes TEXT, difficulty INTEGER NOT NULL, "
+                    + "start_day INTEGER, minutes INTEGER NOT NULL)");
+            createIndexes(db);
+        } catch (SQLException e) {
+            db.close();
+            throw e;
+        }
+        connection = db;
+        return db;
+    }
+
+    private static void createIndexes(Connection db) throws SQLException {
+        try (Statement statement = db.createStatement()) {
+            statement.execute("CREATE INDEX IF NOT EXISTS sessions_subject ON sessions (subject)");
+            // Rows for one day come out in id order, so date queries need no sort
+            statement.execute("CREATE INDEX IF NOT EXISTS sessions_start_day ON sessions (start_day)");
+        }
+    }
+
+    private interface SqlWork {
+        void run() throws SQLException;
+    }
+
+    private interface Binder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    private static void inTransaction(Connection db, SqlWork work) throws SQLException {
+        db.setAutoCommit(false);
+        try {
+            work.run();
+            db.commit();
+        } catch (SQLException | RuntimeException e) {
+            db.rollback();
+            throw e;
+        } finally {
+            db.setAutoCommit(true);
+        }
+    }
+
+    private static int insert(Connection db, Collection<? extends StudySession> sessions) throws SQLException {
+        int written = 0;
+        try (PreparedStatement statement = db.prepareStatement(INSERT)) {
+            int pending = 0;
+            for (StudySession session : sessions) {
+                if (session == null) {
+                    continue;
+                }
+                bind(statement, session);
+                statement.addBatch();
+                written++;
+                if (++pending == BATCH_SIZE) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        }
+        return written;
+    }
+
+    private static void bind(PreparedStatement statement, StudySession session) throws SQLException {
+        LocalDateTime start = session.getStartTime();
+        LocalDateTime end = session.getEndTime();
+        setTime(statement, 1, start);
+        setTime(statement, 3, end);
+        statement.setString(5, session.getSubject());
+        statement.setString(6, session.getNotes());
+        statement.setInt(7, session.getDifficulty());
+        if (start == null) {
+            statement.setNull(8, Types.INTEGER);
+        } else {
+            statement.setLong(8, start.toLocalDate().toEpochDay());
+        }
+        statement.setInt(9, session.getDurationInMinutes());
+    }
+
+    // Epoch second and nanos, read as UTC like BinarySessionFormat
+    private static void setTime(PreparedStatement statement, int index, LocalDateTime time) throws SQLException {
+        if (time == null) {
+            statement.setNull(index, Types.INTEGER);
+            statement.setNull(index + 1, Types.INTEGER);
+        } else {
+            statement.setLong(index, time.toEpochSecond(ZoneOffset.UTC));
+            statement.setInt(index + 1, time.getNano());
+        }
+    }
+
+    // Run a SELECT of COLUMNS and pass each row to the consumer; returns the row count
+    private long query(String sql, Binder binder, Consumer<StudySession> consumer) {
+        long count = 0;
+        try (PreparedStatement statement = connection().prepareStatement(sql)) {
+            if (binder != null) {
+                binder.bind(statement);
+            }
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    consumer.accept(read(rows));
+                    count++;
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Error querying database: " + e.getMessage());
+        }
+        return count;
+    }
+
+    private StudySession read(ResultSet rows) throws SQLException {
+        LocalDateTime start = getTime(rows, 1);
+        LocalDateTime end = getTime(rows, 3);
+        StudySession session = new StudySession(start, end, subjects.intern(rows.getString(5)));
+        session.setDifficulty(rows.getInt(7));
+        String notes = rows.getString(6);
+        // Sessions start with empty notes, and setNotes rejects ""
+        if (notes == null || !notes.isEmpty()) {
+            session.setNotes(notes);
+        }
+        return session;
+    }
+
+    private static LocalDateTime getTime(ResultSet rows, int index) throws SQLException {
+        long second = rows.getLong(index);
+        if (rows.wasNull()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(second, rows.getInt(index + 1), ZoneOffset.UTC);
+    }
+}
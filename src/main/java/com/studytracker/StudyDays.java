@@ -0,0 +1,39 @@
+package com.studytracker;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.TreeSet;
+
+// The distinct days with at least one study session, plus the current streak:
+// the run of consecutive days ending on the most recent one. The run is tracked
+// by its first day, so reading the streak is O(1) and adding a day is O(log n).
+class StudyDays {
+    private final TreeSet<LocalDate> days = new TreeSet<>();
+    private LocalDate streakStart;
+
+    void add(LocalDate day) {
+        if (!days.add(day)) {
+            return;
+        }
+        LocalDate latest = days.last();
+        if (day.equals(latest)) {
+            // New most recent day: either it continues the current run or starts a new one
+            if (streakStart == null || !days.contains(day.minusDays(1))) {
+                streakStart = day;
+            }
+        } else if (day.equals(streakStart.minusDays(1))) {
+            // Filled the gap just before the current run, which may join it to older runs
+            streakStart = day;
+            while (days.contains(streakStart.minusDays(1))) {
+                streakStart = streakStart.minusDays(1);
+            }
+        }
+    }
+
+    int getStreak() {
+        if (days.isEmpty()) {
+            return 0;
+        }
+        return (int) ChronoUnit.DAYS.between(streakStart, days.last()) + 1;
+    }
+}
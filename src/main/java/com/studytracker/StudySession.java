@@ -1,15 +1,21 @@
 package com.studytracker;
 
 import java.time.LocalDateTime;
-import java.time.Duration;
 import java.time.format.DateTimeFormatter;
+import java.time.ZoneOffset;
 
 public class StudySession {
+    // Only used for years outside 1-9999; appendDate handles the rest by hand
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private String subject;
     private String notes;
     private int difficulty; // 1-5 scale
+    private int durationMinutes; // cached, kept in sync by the time setters
+    private String line; // cached toString() for SessionRenderer, cleared by every setter
+    private volatile AsyncSessionSaver saver; // told about every change once the session is being saved
 
     // Constructor
     public StudySession(LocalDateTime startTime, LocalDateTime endTime, String subject) {
@@ -18,6 +24,7 @@ public class StudySession {
         this.subject = subject;
         this.notes = "";
         this.difficulty = 3; // default medium
+        updateDuration();
     }
 
     // TODO: Implement getters and setters for all fields
@@ -32,9 +39,14 @@ public class StudySession {
 
         if (this.endTime != null && startTime != null && startTime.isAfter(this.endTime)) {
             System.err.println("Start time must be before end time");
+            if (Metrics.ENABLED) {
+                Metrics.REJECTED_SETTERS.increment();
+            }
             return;
         }
         this.startTime = startTime;
+        changed();
+        updateDuration();
     }
 
     public LocalDateTime getEndTime() {
@@ -46,9 +58,14 @@ public class StudySession {
 
         if (this.startTime != null && endTime != null && endTime.isBefore(this.startTime)) {
             System.err.println("You need to start a session first in order to end it.");
+            if (Metrics.ENABLED) {
+                Metrics.REJECTED_SETTERS.increment();
+            }
             return;
         }
         this.endTime = endTime;
+        changed();
+        updateDuration();
     }
 
     public String getSubject() {
@@ -59,9 +76,13 @@ public class StudySession {
         // TODO: Add validation - subject shouldn't be null or empty
         if (subject != null && subject.isEmpty()) {
             System.err.println("Subject cannot be null or empty");
+            if (Metrics.ENABLED) {
+                Metrics.REJECTED_SETTERS.increment();
+            }
             return;
         }
         this.subject = subject;
+        changed();
     }
 
     public String getNotes() {
@@ -71,9 +92,13 @@ public class StudySession {
     public void setNotes(String notes) {
         if (notes != null && notes.isEmpty()) {
             System.err.println("Stop cheating, we all know you didn't take notes.");
+            if (Metrics.ENABLED) {
+                Metrics.REJECTED_SETTERS.increment();
+            }
             return;
         }
         this.notes = notes;
+        changed();
     }
 
     public int getDifficulty() {
@@ -83,20 +108,68 @@ public class StudySession {
     public void setDifficulty(int difficulty) {
         if (difficulty < 1 || difficulty > 5) {
             System.err.println("Difficulty must be between 1 and 5.");
+            if (Metrics.ENABLED) {
+                Metrics.REJECTED_SETTERS.increment();
+            }
             return;
         }
         this.difficulty = difficulty;
+        changed();
     }
 
     // TODO: Add getter and setter for difficulty (validate it's between 1-5)
 
-    // TODO: Implement getDurationInMinutes() method
-    // Hint: Use Duration.between(startTime, endTime).toMinutes()
+    // Called by every setter after a change
+    private void changed() {
+        line = null;
+        if (saver != null) {
+            saver.sessionChanged();
+        }
+    }
+
+    // Set by AsyncSessionSaver so edits get saved too; a session has one saver at a time
+    void setSaver(AsyncSessionSaver saver) {
+        this.saver = saver;
+    }
+
+    // A detached copy of the fields as they are now, with no saver, for
+    // handing to a thread that writes it out while this one may still change
+    StudySession copy() {
+        StudySession copy = new StudySession(startTime, endTime, subject);
+        copy.notes = notes;
+        copy.difficulty = difficulty;
+        return copy;
+    }
+
+    // copy() with another subject, set directly rather than through the setter
+    StudySession copyWithSubject(String subject) {
+        StudySession copy = copy();
+        copy.subject = subject;
+        return copy;
+    }
+
+    // Duration is computed once when the start or end time changes.
+    // A session missing either time has a duration of 0 minutes.
     public int getDurationInMinutes() {
-        if (getStartTime() == null || getEndTime() == null) {
-            System.err.println("Invalid start or end time.");
+        return durationMinutes;
+    }
+
+    public boolean hasDuration() {
+        return startTime != null && endTime != null;
+    }
+
+    private void updateDuration() {
+        if (startTime == null || endTime == null) {
+            durationMinutes = 0;
+            return;
         }
-        return (int) Duration.between(startTime, endTime).toMinutes();
+        // Same arithmetic as Duration.between(startTime, endTime).toMinutes(),
+        // without allocating a Duration: whole seconds rounded down, then / 60
+        long seconds = endTime.toEpochSecond(ZoneOffset.UTC) - startTime.toEpochSecond(ZoneOffset.UTC);
+        if (endTime.getNano() < startTime.getNano()) {
+            seconds--;
+        }
+        durationMinutes = (int) (seconds / 60);
     }
 
     // TODO: Implement toString() method that returns a nice string representation
@@ -111,14 +184,46 @@ public class StudySession {
             System.err.println("Invalid start time, Need a start time to fetch date.");
             return null;
         }
-        LocalDateTime date = this.startTime;
-        int duration = getDurationInMinutes();
+        String cached = line;
+        if (cached != null) {
+            return cached;
+        }
+        StringBuilder sb = new StringBuilder(64);
+        appendTo(sb);
+        return sb.toString();
+    }
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        String dateStr = startTime.format(formatter);
+    // toString(), kept until the session is changed. Costs one String per
+    // session, so SessionRenderer only uses it when asked to cache lines.
+    String cachedLine() {
+        if (line == null && startTime != null) {
+            line = toString();
+        }
+        return line;
+    }
 
-        String message = String.format("%s study session on %s for %d minutes", subject, dateStr, duration);
+    // Append toString() without building an intermediate String; start time must be set
+    void appendTo(StringBuilder sb) {
+        sb.append(subject).append(" study session on ");
+        appendDate(sb, startTime);
+        sb.append(" for ").append(durationMinutes).append(" minutes");
+    }
 
-        return message;
+    // yyyy-MM-dd without going through a formatter
+    private static void appendDate(StringBuilder sb, LocalDateTime time) {
+        int year = time.getYear();
+        if (year < 1 || year > 9999) {
+            sb.append(DATE_FORMAT.format(time));
+            return;
+        }
+        sb.append((char) ('0' + year / 1000))
+                .append((char) ('0' + year / 100 % 10))
+                .append((char) ('0' + year / 10 % 10))
+                .append((char) ('0' + year % 10))
+                .append('-');
+        int month = time.getMonthValue();
+        sb.append((char) ('0' + month / 10)).append((char) ('0' + month % 10)).append('-');
+        int day = time.getDayOfMonth();
+        sb.append((char) ('0' + day / 10)).append((char) ('0' + day % 10));
     }
 }
\ No newline at end of file
@@ -1,119 +1,519 @@
 package com.studytracker;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 public class StudyTracker {
-    private ArrayList<StudySession> sessions;
+    private SessionStore sessions;
+
+    // Secondary indexes, kept up to date by addSession so lookups don't have to
+    // scan every session. They hold row numbers into the store, keyed by the
+    // subject and start date each session had when it was added. Subjects are
+    // indexed by their id in the subject dictionary.
+    private SubjectDictionary subjects;
+    private IntList[] sessionsBySubject;
+    private TreeMap<LocalDate, IntList> sessionsByDate;
+    private IntList nullSubjectRows;
+
+    // Running statistics, also maintained by addSession
+    private int totalMinutes;
+    private long totalMinutesExact;
+    private StudyDays studyDays;
+
+    // Optional write-ahead log; see SessionJournal.recover
+    private SessionJournal journal;
+
+    // Report buckets, built on first use by getRollups and maintained from then on
+    private SessionRollups rollups;
+
+    // Interval tree over start/end times, also built on first use (see intervals())
+    private SessionIntervalIndex intervals;
+
+    // Optional background snapshot writer; see AsyncSessionSaver.attach
+    private AsyncSessionSaver saver;
 
     public StudyTracker() {
-        this.sessions = new ArrayList<>();
+        this(new ListSessionStore());
+    }
+
+    // Use a different storage engine, e.g. a ColumnarSessionStore for very large
+    // histories. A store with its own subject dictionary shares it with the tracker.
+    public StudyTracker(SessionStore store) {
+        this(store, store.getSubjectDictionary() != null ? store.getSubjectDictionary() : new SubjectDictionary());
+    }
+
+    // Share a subject dictionary between trackers, or use a case-insensitive one
+    // so "Math" and "math" are the same subject. If the store has a dictionary
+    // it must be this one, so subjects are interned once and ids agree.
+    public StudyTracker(SessionStore store, SubjectDictionary subjects) {
+        if (store.getSubjectDictionary() != null && store.getSubjectDictionary() != subjects) {
+            throw new IllegalArgumentException("store uses a different subject dictionary");
+        }
+        this.sessions = store;
+        this.subjects = subjects;
+        this.sessionsBySubject = new IntList[16];
+        this.sessionsByDate = new TreeMap<>();
+        this.nullSubjectRows = new IntList();
+        this.studyDays = new StudyDays();
     }
 
     // Add a new study session
     public void addSession(StudySession session) {
-        sessions.add(session);
+        if (Metrics.ENABLED) {
+            long start = System.nanoTime();
+            add(session);
+            Metrics.TRACKER_ADD.recordSince(start);
+        } else {
+            add(session);
+        }
+    }
+
+    private void add(StudySession session) {
+        if (session == null) {
+            throw new IllegalArgumentException("session must not be null");
+        }
+        // Log first: if the journal has failed this throws before anything changes
+        if (journal != null) {
+            journal.append(session);
+        }
+        int subjectId = subjects.idOf(session.getSubject());
+        session = canonical(session, subjectId);
+        int row = sessions.add(session);
+        if (journal != null && journal.needsCompaction(sessions.size())) {
+            compactJournal();
+        }
+
+        if (subjectId < 0) {
+            nullSubjectRows.add(row);
+        } else {
+            subjectRows(subjectId).add(row);
+        }
+
+        LocalDateTime start = session.getStartTime();
+        if (start != null) {
+            LocalDate day = start.toLocalDate();
+            sessionsByDate.computeIfAbsent(day, k -> new IntList()).add(row);
+            studyDays.add(day);
+        }
+
+        // Sessions missing a start or end time count as 0 minutes
+        int minutes = session.getDurationInMinutes();
+        totalMinutes += minutes;
+        totalMinutesExact += minutes;
+
+        if (rollups != null) {
+            rollups.add(session);
+        }
+        if (intervals != null) {
+            intervals.add(row, session);
+        }
+        // Last, since it may wait for the saver to catch up
+        if (saver != null) {
+            saver.sessionAdded(session);
+        }
+    }
+
+    // Add a batch of sessions. The whole batch is validated first (both times
+    // present and in order, difficulty 1-5, a non-blank subject); invalid
+    // sessions are left out and listed in the report, the rest are added in
+    // order. Storage and indexes are sized for the batch up front, and the
+    // totals, streak and journal compaction check are updated once at the end.
+    public BatchReport addAll(Collection<? extends StudySession> batch) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        BatchReport report = new BatchReport();
+        ArrayList<StudySession> accepted = new ArrayList<>(batch.size());
+        int index = 0;
+        for (StudySession session : batch) {
+            BatchReport.Reason reason = validate(session);
+            if (reason == null) {
+                accepted.add(session);
+            } else {
+                report.reject(index, session, reason);
+            }
+            index++;
+        }
+        // Log the whole batch before changing anything, so a failed journal
+        // leaves the tracker untouched instead of half-updated
+        if (journal != null) {
+            journal.appendAll(accepted);
+        }
+
+        // Canonical subjects, and how many rows each subject's index will gain
+        int[] subjectIds = new int[accepted.size()];
+        int[] rowsPerSubject = new int[subjects.size()];
+        for (int i = 0; i < subjectIds.length; i++) {
+            subjectIds[i] = subjects.idOf(accepted.get(i).getSubject());
+            accepted.set(i, canonical(accepted.get(i), subjectIds[i]));
+            if (subjectIds[i] >= rowsPerSubject.length) {
+                rowsPerSubject = Arrays.copyOf(rowsPerSubject, Math.max(rowsPerSubject.length * 2, subjectIds[i] + 1));
+            }
+            rowsPerSubject[subjectIds[i]]++;
+        }
+        sessions.ensureCapacity(sessions.size() + accepted.size());
+        for (int id = 0; id < rowsPerSubject.length; id++) {
+            if (rowsPerSubject[id] > 0) {
+                IntList rows = subjectRows(id);
+                rows.ensureCapacity(rows.size() + rowsPerSubject[id]);
+            }
+        }
+
+        long minutes = 0;
+        LocalDate lastDay = null;
+        IntList dayRows = null;
+        for (int i = 0; i < subjectIds.length; i++) {
+            StudySession session = accepted.get(i);
+            int row = sessions.add(session);
+            subjectRows(subjectIds[i]).add(row);
+            // Batches are usually in time order, so most rows land on the same day as the last one
+            LocalDate day = session.getStartTime().toLocalDate();
+            if (!day.equals(lastDay)) {
+                dayRows = sessionsByDate.computeIfAbsent(day, k -> new IntList());
+                studyDays.add(day);
+                lastDay = day;
+            }
+            dayRows.add(row);
+            minutes += session.getDurationInMinutes();
+            if (rollups != null) {
+                rollups.add(session);
+            }
+            if (intervals != null) {
+                intervals.add(row, session);
+            }
+        }
+        totalMinutes += (int) minutes;
+        totalMinutesExact += minutes;
+        if (journal != null && journal.needsCompaction(sessions.size())) {
+            compactJournal();
+        }
+        if (saver != null) {
+            for (StudySession session : accepted) {
+                saver.sessionAdded(session);
+            }
+        }
+
+        report.setAcceptedCount(accepted.size());
+        if (Metrics.ENABLED) {
+            Metrics.TRACKER_ADD_BATCH.recordSince(start);
+            Metrics.REJECTED_SESSIONS.add(report.getRejectedCount());
+        }
+        return report;
+    }
+
+    private static BatchReport.Reason validate(StudySession session) {
+        if (session == null) {
+            return BatchReport.Reason.NULL_SESSION;
+        }
+        if (session.getStartTime() == null || session.getEndTime() == null) {
+            return BatchReport.Reason.MISSING_TIME;
+        }
+        if (session.getEndTime().isBefore(session.getStartTime())) {
+            return BatchReport.Reason.END_BEFORE_START;
+        }
+        if (session.getDifficulty() < 1 || session.getDifficulty() > 5) {
+            return BatchReport.Reason.DIFFICULTY_OUT_OF_RANGE;
+        }
+        if (session.getSubject() == null || session.getSubject().isBlank()) {
+            return BatchReport.Reason.EMPTY_SUBJECT;
+        }
+        return null;
+    }
+
+    // The session to store for this one. The caller's session is never
+    // changed: when a case-insensitive dictionary spells its subject
+    // differently, the tracker stores a copy with the canonical spelling, and
+    // edits to the caller's object don't reach that copy.
+    private StudySession canonical(StudySession session, int subjectId) {
+        String subject = session.getSubject();
+        String canonical = subjects.nameOf(subjectId);
+        if (subject == null || subject.equals(canonical)) {
+            return session;
+        }
+        return session.copyWithSubject(canonical);
+    }
+
+    private IntList subjectRows(int subjectId) {
+        if (subjectId >= sessionsBySubject.length) {
+            sessionsBySubject = Arrays.copyOf(sessionsBySubject, Math.max(sessionsBySubject.length * 2, subjectId + 1));
+        }
+        IntList rows = sessionsBySubject[subjectId];
+        if (rows == null) {
+            rows = new IntList();
+            sessionsBySubject[subjectId] = rows;
+        }
+        return rows;
+    }
+
+    public SubjectDictionary getSubjectDictionary() {
+        return subjects;
+    }
+
+    // Per-day, per-week and per-month buckets by subject. The first call builds
+    // them from the existing sessions; after that addSession keeps them current.
+    public SessionRollups getRollups() {
+        if (rollups == null) {
+            SessionRollups built = new SessionRollups();
+            for (int i = 0; i < sessions.size(); i++) {
+                built.add(sessions.get(i));
+            }
+            rollups = built;
+        }
+        return rollups;
+    }
+
+    // Sessions whose time range overlaps [from, to), ordered by start time.
+    // Unlike getSessionsBetween this looks at end times too, so a session from
+    // 13:00 to 15:00 is found for 14:00-16:00.
+    public ArrayList<StudySession> getSessionsOverlapping(LocalDateTime from, LocalDateTime to) {
+        IntList rows = new IntList();
+        if (from != null && to != null && from.isBefore(to)) {
+            intervals().overlapping(from, to, rows);
+        }
+        return rowsToList(rows);
+    }
+
+    // Sessions that both start and end within [from, to], ordered by start time
+    public ArrayList<StudySession> getSessionsWithin(LocalDateTime from, LocalDateTime to) {
+        IntList rows = new IntList();
+        if (from != null && to != null && !from.isAfter(to)) {
+            intervals().containedIn(from, to, rows);
+        }
+        return rowsToList(rows);
+    }
+
+    // Sessions in progress at `time` (started at or before it, ending after it)
+    public ArrayList<StudySession> getSessionsActiveAt(LocalDateTime time) {
+        IntList rows = new IntList();
+        if (time != null) {
+            intervals().activeAt(time, rows);
+        }
+        return rowsToList(rows);
+    }
+
+    // Check a batch before importing it: every session in it that overlaps
+    // another one in the batch or one already tracked. Duplicates (same start,
+    // end and subject) are reported as overlaps with isDuplicate() set.
+    public List<SessionOverlap> findOverlaps(List<? extends StudySession> batch) {
+        return intervals().findOverlaps(batch, sessions);
+    }
+
+    // The interval index, built from the existing sessions on first use and
+    // kept current by addSession and addAll after that
+    private SessionIntervalIndex intervals() {
+        if (intervals == null) {
+            SessionIntervalIndex built = new SessionIntervalIndex(sessions.size());
+            for (int i = 0; i < sessions.size(); i++) {
+                built.add(i, sessions.get(i));
+            }
+            intervals = built;
+        }
+        return intervals;
+    }
+
+    private ArrayList<StudySession> rowsToList(IntList rows) {
+        ArrayList<StudySession> result = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            result.add(sessions.get(rows.get(i)));
+        }
+        return result;
+    }
+
+    // Log every session added from now on to the journal
+    public void setJournal(SessionJournal journal) {
+        this.journal = journal;
+    }
+
+    // Report every session added from now on to a background saver
+    void setAsyncSaver(AsyncSessionSaver saver) {
+        this.saver = saver;
+    }
+
+    // Fold the journal into a new snapshot in the background
+    public CompletableFuture<Void> compactJournal() {
+        if (journal == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return journal.compact(getAllSessions());
     }
 
     // Get all sessions
     public ArrayList<StudySession> getAllSessions() {
-        return new ArrayList<>(sessions); // Return a copy to prevent external modification
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        // Return a copy to prevent external modification
+        ArrayList<StudySession> allSessions = new ArrayList<>(sessions.size());
+        for (int i = 0; i < sessions.size(); i++) {
+            allSessions.add(sessions.get(i));
+        }
+        if (Metrics.ENABLED) {
+            Metrics.TRACKER_QUERY.recordSince(start);
+        }
+        return allSessions;
     }
 
     public int getTotalStudyMinutes() {
-        // YOUR CODE HERE
-        // Hint: Loop through all sessions and sum their durations
-        int duration = 0;
-        for (int i = 0; i < sessions.size(); i++) {
-            duration += sessions.get(i).getDurationInMinutes();
-        }
-        return duration;
+        return totalMinutes;
     }
 
     // Return all sessions that match the given subject
     public ArrayList<StudySession> getSessionsBySubject(String subject) {
-        ArrayList<StudySession> sessionsBySubjectList = new ArrayList<>();
-        for (StudySession s : sessions) {
-            if (s.getSubject() == null || s.getSubject().equals(subject)) {
-                sessionsBySubjectList.add(s);
-            }
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        ArrayList<StudySession> result = new ArrayList<>(sessionsBySubjectView(subject));
+        if (Metrics.ENABLED) {
+            Metrics.TRACKER_QUERY.recordSince(start);
         }
-        return sessionsBySubjectList;
+        return result;
     }
 
-    // TODO: Implement getSessionsOnDate(LocalDate date)
-    // Return all sessions that happened on the given date
+    // Return all sessions that started on the given date
 
     public ArrayList<StudySession> getSessionsOnDate(LocalDate date) {
-        ArrayList<StudySession> sessionsOnDate = new ArrayList<>();
-        if (date == null || sessions.isEmpty()) {
-            return sessionsOnDate;
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        ArrayList<StudySession> result = new ArrayList<>(sessionsOnDateView(date));
+        if (Metrics.ENABLED) {
+            Metrics.TRACKER_QUERY.recordSince(start);
         }
-        for (StudySession s : sessions) {
-            if (s != null && s.getStartTime() != null && s.getStartTime().toLocalDate().equals(date)) {
-                sessionsOnDate.add(s);
+        return result;
+    }
+
+    // Return all sessions that started between the two dates (both inclusive),
+    // ordered by date
+    public ArrayList<StudySession> getSessionsBetween(LocalDate from, LocalDate to) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        ArrayList<StudySession> sessionsInRange = new ArrayList<>();
+        if (from != null && to != null && !from.isAfter(to)) {
+            for (IntList day : sessionsByDate.subMap(from, true, to, true).values()) {
+                for (int i = 0; i < day.size(); i++) {
+                    sessionsInRange.add(sessions.get(day.get(i)));
+                }
             }
         }
-        return sessionsOnDate;
+        if (Metrics.ENABLED) {
+            Metrics.TRACKER_QUERY.recordSince(start);
+        }
+        return sessionsInRange;
     }
 
-    public double getAverageSessionLength() {
-        if (sessions.isEmpty()) {
-            return 0.0;
+    // Read-only views. These don't copy any sessions: each one reads straight
+    // from the store and covers the sessions that matched when it was created,
+    // so later additions don't show up in it. Use subList or page() to page
+    // through a view, and stream() for lazy filtering.
+
+    public List<StudySession> sessionsView() {
+        return new RowsView(null, sessions.size());
+    }
+
+    // Sessions without a subject match every subject, as in getSessionsBySubject
+    public List<StudySession> sessionsBySubjectView(String subject) {
+        int subjectId = subjects.lookup(subject);
+        IntList rows = subjectId < 0 || subjectId >= sessionsBySubject.length ? null : sessionsBySubject[subjectId];
+        if (nullSubjectRows.size() == 0) {
+            return rows == null ? List.of() : new RowsView(rows, rows.size());
         }
-        double totalMinutes = 0;
-        for (StudySession s : sessions) {
-            totalMinutes += s.getDurationInMinutes();
+        // Merge the row numbers (not the sessions) to keep insertion order
+        IntList merged = new IntList();
+        int matched = rows == null ? 0 : rows.size();
+        int i = 0;
+        int j = 0;
+        while (i < matched || j < nullSubjectRows.size()) {
+            if (j >= nullSubjectRows.size() || (i < matched && rows.get(i) < nullSubjectRows.get(j))) {
+                merged.add(rows.get(i++));
+            } else {
+                merged.add(nullSubjectRows.get(j++));
+            }
         }
-        return (double) totalMinutes / sessions.size();
+        return new RowsView(merged, merged.size());
     }
 
-    // Implement getStudyStreak()
-    // A streak is consecutive days with at least one study session
-    // Return the current streak count
-    public int getStudyStreak() {
-        if (sessions.isEmpty()) {
-            return 0;
-        }
+    public List<StudySession> sessionsOnDateView(LocalDate date) {
+        IntList rows = date == null ? null : sessionsByDate.get(date);
+        return rows == null ? List.of() : new RowsView(rows, rows.size());
+    }
 
-        // Get all unique study dates
-        ArrayList<LocalDate> studyDates = new ArrayList<>();
-        for (StudySession session : sessions) {
-            if (session != null && session.getStartTime() != null) {
-                LocalDate date = session.getStartTime().toLocalDate();
-                if (!studyDates.contains(date)) {
-                    studyDates.add(date);
-                }
-            }
+    public Stream<StudySession> streamSessions() {
+        return sessionsView().stream();
+    }
+
+    public Stream<StudySession> streamSessionsBySubject(String subject) {
+        return sessionsBySubjectView(subject).stream();
+    }
+
+    public Stream<StudySession> streamSessionsOnDate(LocalDate date) {
+        return sessionsOnDateView(date).stream();
+    }
+
+    // Sessions that started between the two dates (both inclusive), by date
+    public Stream<StudySession> streamSessionsBetween(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            return Stream.empty();
         }
+        return sessionsByDate.subMap(from, true, to, true).values().stream()
+                .flatMap(rows -> new RowsView(rows, rows.size()).stream());
+    }
 
-        if (studyDates.isEmpty()) {
-            return 0;
+    // One page of a view: at most `limit` items starting at `offset`
+    public static <T> List<T> page(List<T> view, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("offset and limit must not be negative");
         }
+        int from = Math.min(offset, view.size());
+        int to = (int) Math.min((long) from + limit, view.size());
+        return view.subList(from, to);
+    }
 
-        // Sort dates in descending order (most recent first)
-        Collections.sort(studyDates, Collections.reverseOrder());
+    // The first `size` rows of the store, or of an index when rows != null
+    private final class RowsView extends AbstractList<StudySession> implements RandomAccess {
+        private final IntList rows;
+        private final int size;
 
-        // Start with the most recent date
-        LocalDate currentDate = studyDates.get(0);
-        int streak = 1;
+        RowsView(IntList rows, int size) {
+            this.rows = rows;
+            this.size = size;
+        }
 
-        // Check consecutive days going backwards
-        for (int i = 1; i < studyDates.size(); i++) {
-            LocalDate nextDate = studyDates.get(i);
-            // If the next date is exactly one day before the current date
-            if (nextDate.equals(currentDate.minusDays(1))) {
-                streak++;
-                currentDate = nextDate;
-            } else {
-                // Gap found, streak is broken
-                break;
+        @Override
+        public StudySession get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
             }
+            return sessions.get(rows == null ? index : rows.get(index));
+        }
+
+        @Override
+        public int size() {
+            return size;
         }
+    }
+
+    public double getAverageSessionLength() {
+        if (sessions.size() == 0) {
+            return 0.0;
+        }
+        return (double) totalMinutesExact / sessions.size();
+    }
+
+    // A streak is consecutive days with at least one study session
+    // Return the current streak count, counting back from the most recent study day
+    public int getStudyStreak() {
+        return studyDays.getStreak();
+    }
+
+    // Every statistic in one pass over the sessions, split across the common
+    // fork-join pool. Includes the longest streak, per-subject totals and the
+    // minute-weighted average difficulty, which the tracker doesn't keep.
+    public SessionStatistics computeStatistics() {
+        return SessionStatistics.compute(sessionsView(), ForkJoinPool.commonPool());
+    }
 
-        return streak;
+    public SessionStatistics computeStatistics(ForkJoinPool pool, int threshold) {
+        return SessionStatistics.compute(sessionsView(), pool, threshold);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,115 @@
+package com.studytracker;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Maps subjects to small int ids and one shared String instance each. There
+// are only a few hundred distinct subjects across millions of sessions, so
+// loaders and trackers intern through a dictionary instead of keeping a copy
+// of the name per session, and compare subjects by id.
+//
+// A case-insensitive dictionary treats "Math" and "math" as the same subject;
+// the spelling seen first becomes the canonical name returned for both.
+//
+// Safe to share between threads and between trackers. Ids are never reused,
+// so the dictionary only grows.
+public class SubjectDictionary {
+    private final boolean caseInsensitive;
+
+    // Every spelling seen so far -> its id. Read without locking.
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+    // Guarded by this: case-folded name -> id, and the canonical names by id
+    private final HashMap<String, Integer> idsByKey = new HashMap<>();
+    private volatile String[] names = new String[16];
+    private int size;
+
+    public SubjectDictionary() {
+        this(false);
+    }
+
+    public SubjectDictionary(boolean caseInsensitive) {
+        this.caseInsensitive = caseInsensitive;
+    }
+
+    public boolean isCaseInsensitive() {
+        return caseInsensitive;
+    }
+
+    // The id for a subject, assigning a new one if it hasn't been seen. -1 for null.
+    public int idOf(String subject) {
+        if (subject == null) {
+            return -1;
+        }
+        Integer id = ids.get(subject);
+        if (id != null) {
+            return id;
+        }
+        return assign(subject);
+    }
+
+    // The id for a subject without adding it, or -1 if it isn't known
+    public int lookup(String subject) {
+        if (subject == null) {
+            return -1;
+        }
+        Integer id = ids.get(subject);
+        if (id != null) {
+            return id;
+        }
+        if (!caseInsensitive) {
+            return -1;
+        }
+        synchronized (this) {
+            id = idsByKey.get(normalize(subject));
+        }
+        return id == null ? -1 : id;
+    }
+
+    public String nameOf(int id) {
+        String[] current = names;
+        if (id < 0 || id >= current.length) {
+            return null;
+        }
+        return current[id];
+    }
+
+    // The shared instance for this subject (its canonical spelling when case-insensitive)
+    public String intern(String subject) {
+        if (subject == null) {
+            return null;
+        }
+        return nameOf(idOf(subject));
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private synchronized int assign(String subject) {
+        Integer id = ids.get(subject);
+        if (id != null) {
+            return id;
+        }
+        String key = normalize(subject);
+        id = idsByKey.get(key);
+        if (id == null) {
+            id = size++;
+            String[] current = names;
+            if (id == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[id] = subject;
+            names = current;
+            idsByKey.put(key, id);
+        }
+        ids.put(subject, id);
+        return id;
+    }
+
+    private String normalize(String subject) {
+        return caseInsensitive ? subject.toLowerCase(Locale.ROOT) : subject;
+    }
+}
@@ -0,0 +1,128 @@
+package com.studytracker;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+// Parses the ISO-8601 local date-times written by LocalDateTime.toString()
+// and accepts exactly what LocalDateTime.parse accepts, returning null for
+// anything else. The usual shape (a four-digit year, yyyy-MM-ddTHH:mm[:ss[.f]]
+// with 1-9 fraction digits) is parsed by hand without regexes or exceptions.
+// Anything outside that shape (signed years, a lowercase 't', a "." with no
+// fraction digits, invalid text) goes to LocalDateTime.parse. An invalid
+// timestamp costs an exception, but those are rare in a session file.
+final class TimestampParser {
+    private static final int[] NANO_SCALE = {
+        0, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1
+    };
+
+    private TimestampParser() {
+    }
+
+    static LocalDateTime parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    // Parse text[from, to)
+    static LocalDateTime parse(CharSequence text, int from, int to) {
+        LocalDateTime time = parseCommon(text, from, to);
+        if (time != null) {
+            return time;
+        }
+        try {
+            return LocalDateTime.parse(text.subSequence(from, to));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // The usual shape only; null means "not handled here", not "invalid"
+    private static LocalDateTime parseCommon(CharSequence text, int from, int to) {
+        int pos = from;
+        if (to - pos < 16) {
+            return null;
+        }
+        int year = 0;
+        for (int i = 0; i < 4; i++) {
+            char c = text.charAt(pos + i);
+            if (!isDigit(c)) {
+                return null;
+            }
+            year = year * 10 + (c - '0');
+        }
+        pos += 4;
+
+        // Fixed-width "-MM-ddTHH:mm" after the year
+        if (text.charAt(pos) != '-' || text.charAt(pos + 3) != '-'
+                || text.charAt(pos + 6) != 'T' || text.charAt(pos + 9) != ':') {
+            return null;
+        }
+        int month = twoDigits(text, pos + 1);
+        int day = twoDigits(text, pos + 4);
+        int hour = twoDigits(text, pos + 7);
+        int minute = twoDigits(text, pos + 10);
+        pos += 12;
+
+        int second = 0;
+        int nano = 0;
+        if (pos < to) {
+            if (to - pos < 3 || text.charAt(pos) != ':') {
+                return null;
+            }
+            second = twoDigits(text, pos + 1);
+            pos += 3;
+            if (pos < to) {
+                if (text.charAt(pos) != '.') {
+                    return null;
+                }
+                pos++;
+                int digits = to - pos;
+                if (digits < 1 || digits > 9) {
+                    return null;
+                }
+                for (int i = 0; i < digits; i++) {
+                    char c = text.charAt(pos + i);
+                    if (!isDigit(c)) {
+                        return null;
+                    }
+                    nano = nano * 10 + (c - '0');
+                }
+                nano *= NANO_SCALE[digits];
+            }
+        }
+
+        if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+    }
+
+    // Returns -1 unless both characters are digits
+    private static int twoDigits(CharSequence text, int pos) {
+        char tens = text.charAt(pos);
+        char ones = text.charAt(pos + 1);
+        if (!isDigit(tens) || !isDigit(ones)) {
+            return -1;
+        }
+        return (tens - '0') * 10 + (ones - '0');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.studytracker;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+// One StudyTracker per user for services that host many students in one JVM.
+//
+// Users are spread over a fixed number of partitions by hash of their id.
+// Each partition has its own lock and its own share of the memory budget, so
+// users in different partitions never wait on each other. A user's tracker is
+// loaded from <directory>/<userId>.bin on first access and kept in an
+// access-ordered map. When a partition goes over its budget, the least
+// recently used trackers are written back if they have new sessions and then
+// dropped. A user's file is the source of truth whenever their tracker isn't
+// loaded, so the number of users is limited by disk, not heap.
+//
+// Trackers are only touched under their partition's lock: add sessions with
+// addSession and read them with withTracker. Don't keep a tracker past the
+// callback, since it may be evicted and reloaded as a different object.
+//
+// If a user's file can't be read, the call that needed it throws and nothing
+// is kept for that user, so a partial tracker is never written over the file.
+// A tracker that can't be written back stays loaded; flush() reports why.
+public class TrackerRegistry {
+    public static final int DEFAULT_BYTES_PER_SESSION = 180; // ListSessionStore, measured
+    private static final int BYTES_PER_TRACKER = 2048;       // indexes, maps, the tracker itself
+    private static final Pattern USER_ID = Pattern.compile("[A-Za-z0-9_-]{1,128}");
+
+    private final Path directory;
+    private final Partition[] partitions;
+    private final SubjectDictionary subjects = new SubjectDictionary();
+    private volatile int bytesPerSession = DEFAULT_BYTES_PER_SESSION;
+
+    public TrackerRegistry(String directory, int partitionCount, long memoryBudgetBytes) throws IOException {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("partitionCount must be at least 1, was " + partitionCount);
+        }
+        this.directory = Paths.get(directory);
+        this.partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition(memoryBudgetBytes / partitionCount);
+        }
+        Files.createDirectories(this.directory);
+    }
+
+    // Estimated heap per loaded session, used to enforce the memory budget
+    public void setBytesPerSession(int bytesPerSession) {
+        this.bytesPerSession = Math.max(bytesPerSession, 1);
+    }
+
+    // Every tracker shares one subject dictionary
+    public SubjectDictionary getSubjectDictionary() {
+        return subjects;
+    }
+
+    // Add a session to a user's tracker, loading it first if needed.
+    // Returns false if the user id isn't valid.
+    public boolean addSession(String userId, StudySession session) throws IOException {
+        Partition partition = partitionFor(userId);
+        if (partition == null) {
+            return false;
+        }
+        synchronized (partition) {
+            Entry entry = partition.load(userId);
+            entry.tracker.addSession(session);
+            partition.resize(entry);
+            partition.evict(entry);
+        }
+        return true;
+    }
+
+    // Run `action` on a user's tracker under its partition lock and return the
+    // result, e.g. registry.withTracker(id, StudyTracker::getStudyStreak).
+    // Returns null if the user id isn't valid.
+    public <T> T withTracker(String userId, Function<StudyTracker, T> action) throws IOException {
+        Partition partition = partitionFor(userId);
+        if (partition == null) {
+            return null;
+        }
+        synchronized (partition) {
+            Entry entry = partition.load(userId);
+            T result = action.apply(entry.tracker);
+            // The action may have added sessions itself
+            partition.resize(entry);
+            partition.evict(entry);
+            return result;
+        }
+    }
+
+    // Write back every tracker with unsaved sessions. Trackers stay loaded.
+    // Every tracker is tried; the first failure is thrown with the rest
+    // attached as suppressed exceptions.
+    public void flush() throws IOException {
+        IOException failure = null;
+        for (Partition partition : partitions) {
+            synchronized (partition) {
+                for (Entry entry : partition.trackers.values()) {
+                    try {
+                        partition.writeBack(entry);
+                    } catch (IOException e) {
+                        if (failure == null) {
+                            failure = e;
+                        } else {
+                            failure.addSuppressed(e);
+                        }
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    public int getLoadedCount() {
+        int count = 0;
+        for (Partition partition : partitions) {
+            synchronized (partition) {
+                count += partition.trackers.size();
+            }
+        }
+        return count;
+    }
+
+    public long getEstimatedBytes() {
+        long bytes = 0;
+        for (Partition partition : partitions) {
+            synchronized (partition) {
+                bytes += partition.bytes;
+            }
+        }
+        return bytes;
+    }
+
+    public long getEvictionCount() {
+        long count = 0;
+        for (Partition partition : partitions) {
+            synchronized (partition) {
+                count += partition.evictions;
+            }
+        }
+        return count;
+    }
+
+    private Partition partitionFor(String userId) {
+        if (userId == null || !USER_ID.matcher(userId).matches()) {
+            System.out.println("Error: Invalid user id " + userId);
+            return null;
+        }
+        return partitions[Math.floorMod(userId.hashCode(), partitions.length)];
+    }
+
+    private Path fileFor(String userId) {
+        return directory.resolve(userId + ".bin");
+    }
+
+    private static final class Entry {
+        final String userId;
+        final StudyTracker tracker;
+        int savedSessions;  // sessions already in the user's file
+        long bytes;
+
+        Entry(String userId, StudyTracker tracker) {
+            this.userId = userId;
+            this.tracker = tracker;
+        }
+
+        int size() {
+            return tracker.sessionsView().size();
+        }
+    }
+
+    private final class Partition {
+        final long budget;
+        final LinkedHashMap<String, Entry> trackers = new LinkedHashMap<>(16, 0.75f, true);
+        long bytes;
+        long evictions;
+
+        Partition(long budget) {
+            this.budget = budget;
+        }
+
+        // Throws if the user's file exists but can't be read; the half-loaded
+        // tracker is dropped so it can't be written back over the file
+        Entry load(String userId) throws IOException {
+            Entry entry = trackers.get(userId);
+            if (entry != null) {
+                return entry;
+            }
+            entry = new Entry(userId, new StudyTracker(new ListSessionStore(), subjects));
+            Path file = fileFor(userId);
+            if (Files.exists(file)) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    BinarySessionFormat.read(channel, entry.tracker::addSession, subjects);
+                } catch (IOException e) {
+                    throw new IOException("Can't load sessions for " + userId + ": " + e.getMessage(), e);
+                }
+            }
+            entry.savedSessions = entry.size();
+            trackers.put(userId, entry);
+            resize(entry);
+            return entry;
+        }
+
+        void resize(Entry entry) {
+            long estimate = BYTES_PER_TRACKER + (long) entry.size() * bytesPerSession;
+            bytes += estimate - entry.bytes;
+            entry.bytes = estimate;
+        }
+
+        // Drop least recently used trackers until under budget, never the one in use
+        void evict(Entry inUse) {
+            Iterator<Map.Entry<String, Entry>> it = trackers.entrySet().iterator();
+            while (bytes > budget && it.hasNext()) {
+                Entry entry = it.next().getValue();
+                if (entry == inUse) {
+                    continue;
+                }
+                // Keep a tracker that couldn't be saved rather than lose its
+                // sessions; flush() tries it again and reports the error
+                try {
+                    writeBack(entry);
+                } catch (IOException e) {
+                    continue;
+                }
+                it.remove();
+                bytes -= entry.bytes;
+                evictions++;
+            }
+        }
+
+        // Save the tracker if it has sessions its file doesn't
+        void writeBack(Entry entry) throws IOException {
+            int size = entry.size();
+            if (size == entry.savedSessions) {
+                return;
+            }
+            Path file = fileFor(entry.userId);
+            Path temp = file.resolveSibling(entry.userId + ".bin.tmp");
+            ArrayList<StudySession> sessions = entry.tracker.getAllSessions();
+            try {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    BinarySessionFormat.write(channel, sessions);
+                    channel.force(true);
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new IOException("Can't save sessions for " + entry.userId + ": " + e.getMessage(), e);
+            }
+            entry.savedSessions = size;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.studytracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AsyncSessionSaverTest {
+    @TempDir
+    Path directory;
+
+    private static StudySession session(int i) {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0).plusMinutes(i * 90L);
+        return new StudySession(start, start.plusMinutes(60), "Subject " + (i % 7));
+    }
+
+    // A flush that arrives while a write covering every session is running
+    // must complete with that write, not wait for one that has nothing to do
+    @Test
+    void flushDuringWriteCompletes() throws Exception {
+        StudyTracker tracker = new StudyTracker();
+        for (int i = 0; i < 300_000; i++) {
+            tracker.addSession(session(i));
+        }
+        AsyncSessionSaver saver = new AsyncSessionSaver(directory.resolve("sessions.bin").toString(), 0, 1_000_000);
+        // The tracker's sessions aren't in the file yet, so attaching starts a write
+        saver.attach(tracker);
+
+        List<CompletableFuture<Void>> flushes = new ArrayList<>();
+        while (saver.getUnsavedCount() > 0) {
+            flushes.add(saver.flush());
+            Thread.sleep(1);
+        }
+        flushes.add(saver.flush());
+        for (CompletableFuture<Void> flush : flushes) {
+            flush.get(10, TimeUnit.SECONDS);
+        }
+        saver.close();
+
+        StudyTracker reloaded = new StudyTracker();
+        new AsyncSessionSaver(directory.resolve("sessions.bin").toString()).attach(reloaded);
+        assertEquals(300_000, reloaded.sessionsView().size());
+    }
+
+    // Editing a session that's already saved makes the saver dirty again
+    @Test
+    void editsAreSaved() throws Exception {
+        String file = directory.resolve("edits.bin").toString();
+        StudyTracker tracker = new StudyTracker();
+        AsyncSessionSaver saver = new AsyncSessionSaver(file, 60_000, 1000);
+        saver.attach(tracker);
+        StudySession session = session(1);
+        tracker.addSession(session);
+        saver.flush().get(10, TimeUnit.SECONDS);
+        assertEquals(0, saver.getUnsavedCount());
+
+        session.setNotes("Chapter 4");
+        session.setDifficulty(5);
+        assertEquals(2, saver.getUnsavedCount());
+        saver.close();
+
+        StudyTracker reloaded = new StudyTracker();
+        new AsyncSessionSaver(file).attach(reloaded);
+        StudySession saved = reloaded.sessionsView().get(0);
+        assertEquals("Chapter 4", saved.getNotes());
+        assertEquals(5, saved.getDifficulty());
+    }
+
+    // Setters called while a write is running must not break that write: the
+    // flush completes and the file ends up with every edit
+    @Test
+    void editsDuringWriteAreSaved() throws Exception {
+        String file = directory.resolve("racing.bin").toString();
+        StudyTracker tracker = new StudyTracker();
+        AsyncSessionSaver saver = new AsyncSessionSaver(file, 0, 10_000_000);
+        saver.attach(tracker);
+        List<StudySession> added = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            StudySession session = session(i);
+            tracker.addSession(session);
+            added.add(session);
+        }
+
+        CompletableFuture<Void> flush = saver.flush();
+        // New subjects between the format's subject-table pass and its record pass
+        for (int round = 0; round < 20; round++) {
+            for (int i = round; i < added.size(); i += 97) {
+                added.get(i).setSubject("Edited " + round + "-" + i);
+                added.get(i).setDifficulty(1 + round % 5);
+            }
+        }
+        flush.get(10, TimeUnit.SECONDS);
+        saver.flush().get(10, TimeUnit.SECONDS);
+        saver.close();
+
+        StudyTracker reloaded = new StudyTracker();
+        new AsyncSessionSaver(file).attach(reloaded);
+        List<StudySession> saved = reloaded.sessionsView();
+        assertEquals(added.size(), saved.size());
+        for (int i = 0; i < added.size(); i++) {
+            assertEquals(added.get(i).getSubject(), saved.get(i).getSubject());
+            assertEquals(added.get(i).getDifficulty(), saved.get(i).getDifficulty());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.studytracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BinarySessionFormatTest {
+    @TempDir
+    Path directory;
+
+    // Whole and sub-second times, ends before starts, missing fields, empty,
+    // null and non-ASCII notes
+    private static List<StudySession> sessions(int count) {
+        Random random = new Random(3);
+        List<StudySession> sessions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = LocalDateTime.of(1999, 12, 31, 23, 0).plusSeconds(random.nextInt(1 << 30));
+            if (i % 3 == 0) {
+                start = start.plusNanos(random.nextInt(1_000_000_000));
+            }
+            LocalDateTime end = start.plusSeconds(random.nextInt(20_000) - 1000).plusNanos(i % 5 == 0 ? random.nextInt(1000) : 0);
+            StudySession session = new StudySession(i % 11 == 0 ? null : start, i % 13 == 0 ? null : end,
+                    i % 7 == 0 ? null : "Subject \u00fc" + random.nextInt(20));
+            session.setDifficulty(1 + random.nextInt(5));
+            if (i % 4 == 1) {
+                session.setNotes("Notes \u2713 " + i);
+            } else if (i % 4 == 2) {
+                session.setNotes(null);
+            }
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
+    private void write(Path file, List<StudySession> sessions) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            BinarySessionFormat.write(channel, sessions);
+        }
+    }
+
+    private List<StudySession> read(Path file) throws IOException {
+        List<StudySession> sessions = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            BinarySessionFormat.read(channel, sessions::add);
+        }
+        return sessions;
+    }
+
+    @Test
+    void roundTripKeepsEveryField() throws IOException {
+        List<StudySession> sessions = sessions(50_000);
+        Path file = directory.resolve("sessions.bin");
+        write(file, sessions);
+        List<StudySession> loaded = read(file);
+
+        assertEquals(sessions.size(), loaded.size());
+        for (int i = 0; i < sessions.size(); i++) {
+            StudySession expected = sessions.get(i);
+            StudySession actual = loaded.get(i);
+            assertEquals(expected.getStartTime(), actual.getStartTime());
+            assertEquals(expected.getEndTime(), actual.getEndTime());
+            assertEquals(expected.getSubject(), actual.getSubject());
+            assertEquals(expected.getNotes(), actual.getNotes());
+            assertEquals(expected.getDifficulty(), actual.getDifficulty());
+        }
+    }
+
+    // Null entries in the list are skipped, and the session count says so
+    @Test
+    void skipsNullEntries() throws IOException {
+        List<StudySession> sessions = new ArrayList<>(sessions(10));
+        sessions.add(3, null);
+        sessions.add(null);
+        Path file = directory.resolve("sessions.bin");
+        write(file, sessions);
+        assertEquals(10, read(file).size());
+    }
+
+    // A file cut short anywhere fails with an IOException
+    @Test
+    void truncatedFileThrows() throws IOException {
+        Path file = directory.resolve("sessions.bin");
+        write(file, sessions(40));
+        byte[] bytes = Files.readAllBytes(file);
+        Path cut = directory.resolve("cut.bin");
+        for (int length = 0; length < bytes.length; length++) {
+            Files.write(cut, Arrays.copyOf(bytes, length));
+            assertThrows(IOException.class, () -> read(cut), "length " + length);
+        }
+    }
+
+    // Damaged bytes either still decode or fail with an IOException, never
+    // with a runtime exception or an out-of-memory allocation
+    @Test
+    void corruptBytesThrowIOException() throws IOException {
+        Path file = directory.resolve("sessions.bin");
+        write(file, sessions(40));
+        byte[] bytes = Files.readAllBytes(file);
+        Random random = new Random(8);
+        Path corrupt = directory.resolve("corrupt.bin");
+        for (int round = 0; round < 3000; round++) {
+            byte[] damaged = bytes.clone();
+            for (int n = 1 + random.nextInt(3); n > 0; n--) {
+                // Leave the magic and version alone so the damage reaches the body
+                damaged[8 + random.nextInt(damaged.length - 8)] = (byte) random.nextInt(256);
+            }
+            Files.write(corrupt, damaged);
+            try {
+                read(corrupt);
+            } catch (IOException expected) {
+                // fine: reported as a corrupt or truncated file
+            }
+        }
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Path file = directory.resolve("sessions.bin");
+        Files.write(file, "start,end,subject\n2024-01-01T10:00,2024-01-01T11:00,Math\n".getBytes());
+        assertThrows(IOException.class, () -> read(file));
+    }
+}
@@ -0,0 +1,79 @@
+package com.studytracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ColumnarSessionStoreTest {
+    // Sub-second times, missing times and subjects, null and set notes
+    private static List<StudySession> sessions(int count) {
+        Random random = new Random(7);
+        List<StudySession> sessions = new ArrayList<>();
+        LocalDateTime time = LocalDateTime.of(2023, 9, 1, 8, 0);
+        for (int i = 0; i < count; i++) {
+            time = time.plusSeconds(random.nextInt(20_000)).plusNanos(random.nextInt(1_000_000_000));
+            LocalDateTime end = time.plusSeconds(random.nextInt(7200)).plusNanos(random.nextInt(1_000_000_000));
+            StudySession session = new StudySession(i % 50 == 0 ? null : time, i % 70 == 0 ? null : end,
+                    i % 30 == 0 ? null : "Subject " + random.nextInt(12));
+            session.setDifficulty(1 + random.nextInt(5));
+            if (i % 4 == 1) {
+                session.setNotes("Notes " + i);
+            } else if (i % 4 == 2) {
+                session.setNotes(null);
+            }
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
+    // Every field comes back as it went in
+    @Test
+    void storesEveryField() {
+        List<StudySession> sessions = sessions(20_000);
+        ColumnarSessionStore store = new ColumnarSessionStore(4);
+        for (StudySession session : sessions) {
+            store.add(session);
+        }
+        assertEquals(sessions.size(), store.size());
+        for (int row = 0; row < sessions.size(); row++) {
+            StudySession expected = sessions.get(row);
+            StudySession actual = store.get(row);
+            assertEquals(expected.getStartTime(), actual.getStartTime());
+            assertEquals(expected.getEndTime(), actual.getEndTime());
+            assertEquals(expected.getSubject(), actual.getSubject());
+            assertEquals(expected.getNotes(), actual.getNotes());
+            assertEquals(expected.getDifficulty(), actual.getDifficulty());
+            assertEquals(expected.getDurationInMinutes(), actual.getDurationInMinutes());
+        }
+    }
+
+    // A tracker over either store gives the same answers, and statistics over
+    // the columnar rows agree with the tracker's running totals
+    @Test
+    void trackerAnswersMatchListStore() {
+        List<StudySession> sessions = sessions(20_000);
+        StudyTracker list = new StudyTracker();
+        StudyTracker columnar = new StudyTracker(new ColumnarSessionStore());
+        for (StudySession session : sessions) {
+            list.addSession(session);
+            columnar.addSession(session);
+        }
+        assertEquals(list.getTotalStudyMinutes(), columnar.getTotalStudyMinutes());
+        assertEquals(list.getAverageSessionLength(), columnar.getAverageSessionLength());
+        assertEquals(list.getStudyStreak(), columnar.getStudyStreak());
+        assertEquals(list.getSessionsBySubject("Subject 3").size(), columnar.getSessionsBySubject("Subject 3").size());
+
+        SessionStatistics fromList = list.computeStatistics();
+        SessionStatistics fromColumns = columnar.computeStatistics();
+        assertEquals(columnar.getTotalStudyMinutes(), fromColumns.getTotalStudyMinutes());
+        assertEquals(fromList.getTotalStudyMinutesExact(), fromColumns.getTotalStudyMinutesExact());
+        assertEquals(fromList.getMinutesBySubject(), fromColumns.getMinutesBySubject());
+        assertEquals(fromList.getWeightedAverageDifficulty(), fromColumns.getWeightedAverageDifficulty());
+        assertEquals(fromList.getLongestStreak(), fromColumns.getLongestStreak());
+    }
+}
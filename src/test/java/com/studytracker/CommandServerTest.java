@@ -0,0 +1,158 @@
+package com.studytracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CommandServerTest {
+    @TempDir
+    Path directory;
+
+    // One client connection: send lines, read reply lines
+    private static final class Client implements AutoCloseable {
+        private final Socket socket;
+        private final Writer out;
+        private final BufferedReader in;
+
+        Client(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            socket.setSoTimeout(30_000);
+            out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        void send(String line) throws IOException {
+            out.write(line + "\n");
+            out.flush();
+        }
+
+        String call(String line) throws IOException {
+            send(line);
+            return in.readLine();
+        }
+
+        String read() throws IOException {
+            return in.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    @Test
+    void commandsMatchTracker() throws IOException {
+        ConcurrentStudyTracker tracker = new ConcurrentStudyTracker();
+        SimpleFileStorage storage = new SimpleFileStorage(directory.resolve("sessions.bin").toString());
+        try (CommandServer server = new CommandServer(tracker, storage)) {
+            int port = server.start(0);
+            try (Client client = new Client(port)) {
+                assertEquals("OK added", client.call("ADD 2024-05-01T09:00 45 3 Linear algebra"));
+                assertEquals("OK added", client.call("add 2024-05-02T10:30 30 5 Physics"));
+                assertEquals("OK added", client.call("ADD 2024-05-03T08:00 60 2 Linear algebra"));
+                assertEquals(3, tracker.size());
+
+                assertEquals("OK 2", client.call("SUBJECT Linear algebra"));
+                assertEquals("2024-05-01T09:00,2024-05-01T09:45,Linear algebra,3", client.read());
+                assertEquals("2024-05-03T08:00,2024-05-03T09:00,Linear algebra,2", client.read());
+                assertEquals("OK 3", client.call("LIST"));
+                for (int i = 0; i < 3; i++) {
+                    assertTrue(client.read().startsWith("2024-05-0" + (i + 1)));
+                }
+                assertEquals("OK sessions=3 totalMinutes=135 averageMinutes=" + String.format("%.2f", 45.0)
+                        + " streak=3", client.call("STATS"));
+
+                assertEquals("OK saved 3", client.call("SAVE"));
+                List<StudySession> saved = storage.loadSessionsBinary();
+                assertEquals(tracker.getAllSessions().size(), saved.size());
+                assertEquals(LocalDateTime.of(2024, 5, 2, 11, 0), saved.get(1).getEndTime());
+                assertEquals("OK bye", client.call("QUIT"));
+                assertNull(client.read());
+            }
+        }
+    }
+
+    // Bad input gets an ERR reply and leaves the tracker and connection as they were
+    @Test
+    void badCommandsReplyErr() throws IOException {
+        ConcurrentStudyTracker tracker = new ConcurrentStudyTracker();
+        try (CommandServer server = new CommandServer(tracker, null)) {
+            int port = server.start(0);
+            try (Client client = new Client(port)) {
+                for (String command : new String[] {"ADD", "ADD tomorrow 30 3 Math", "ADD now abc 3 Math",
+                        "ADD now 0 3 Math", "ADD now 30 6 Math", "ADD now 30 3  ", "SUBJECT", "SAVE", "DANCE"}) {
+                    assertTrue(client.call(command).startsWith("ERR "), command);
+                }
+                assertEquals(0, tracker.size());
+                assertEquals("OK added", client.call("ADD now 30 3 Math"));
+            }
+        }
+    }
+
+    // A save that can't write the file is reported, not answered with OK
+    @Test
+    void failedSaveRepliesErr() throws IOException {
+        ConcurrentStudyTracker tracker = new ConcurrentStudyTracker();
+        SimpleFileStorage storage = new SimpleFileStorage(directory.resolve("missing").resolve("sessions.bin").toString());
+        try (CommandServer server = new CommandServer(tracker, storage); Client client = new Client(server.start(0))) {
+            client.call("ADD now 30 3 Math");
+            assertTrue(client.call("SAVE").startsWith("ERR Save failed"));
+        }
+    }
+
+    // Pipelined commands from many clients at once all get their replies in order
+    @Test
+    void concurrentPipelinedClients() throws Exception {
+        ConcurrentStudyTracker tracker = new ConcurrentStudyTracker();
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try (CommandServer server = new CommandServer(tracker, null)) {
+            int port = server.start(0);
+            List<Future<?>> results = new ArrayList<>();
+            for (int c = 0; c < 8; c++) {
+                int id = c;
+                results.add(clients.submit(() -> {
+                    try (Client client = new Client(port)) {
+                        StringBuilder batch = new StringBuilder();
+                        for (int i = 0; i < 500; i++) {
+                            batch.append("ADD 2024-06-01T10:00 ").append(1 + i % 90).append(" 3 Client ").append(id).append('\n');
+                        }
+                        client.send(batch.append("STATS").toString());
+                        for (int i = 0; i < 500; i++) {
+                            assertEquals("OK added", client.read());
+                        }
+                        assertTrue(client.read().startsWith("OK sessions="));
+                        assertEquals("OK 500", client.call("SUBJECT Client " + id));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        assertEquals(8 * 500, tracker.size());
+    }
+}
@@ -0,0 +1,115 @@
+package com.studytracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrentStudyTrackerTest {
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 20_000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 2, 1);
+
+    private static StudySession session(int thread, int i) {
+        LocalDateTime start = FIRST_DAY.atStartOfDay().plusMinutes((i * 37L + thread * 11L) % (60 * 24 * 45));
+        return new StudySession(start, start.plusMinutes((i + thread) % 150),
+                (i + thread) % 19 == 0 ? null : "Subject " + (i + thread) % 6);
+    }
+
+    // Sessions added from several threads give the same answers as a
+    // StudyTracker fed the same sessions in the order they were stored
+    @Test
+    void concurrentAddsMatchStudyTracker() throws Exception {
+        ConcurrentStudyTracker tracker = new ConcurrentStudyTracker();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                writers.add(pool.submit(() -> {
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        tracker.addSession(session(thread, i));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<StudySession> stored = tracker.getAllSessions();
+        assertEquals(THREADS * PER_THREAD, stored.size());
+        assertEquals(stored.size(), new HashSet<>(stored).size());
+        StudyTracker expected = new StudyTracker();
+        for (StudySession session : stored) {
+            expected.addSession(session);
+        }
+        assertEquals(expected.getTotalStudyMinutes(), tracker.getTotalStudyMinutes());
+        assertEquals(expected.getAverageSessionLength(), tracker.getAverageSessionLength(), 1e-9);
+        assertEquals(expected.getStudyStreak(), tracker.getStudyStreak());
+        for (String subject : new String[] {"Subject 0", "Subject 5", "Subject 9"}) {
+            assertEquals(expected.getSessionsBySubject(subject), tracker.getSessionsBySubject(subject), subject);
+        }
+        for (LocalDate date = FIRST_DAY; date.isBefore(FIRST_DAY.plusDays(46)); date = date.plusDays(1)) {
+            assertEquals(expected.getSessionsOnDate(date), tracker.getSessionsOnDate(date), date.toString());
+        }
+        assertEquals(expected.getSessionsBetween(FIRST_DAY.plusDays(3), FIRST_DAY.plusDays(20)),
+                tracker.getSessionsBetween(FIRST_DAY.plusDays(3), FIRST_DAY.plusDays(20)));
+    }
+
+    // A snapshot taken while writers are busy agrees with itself: its totals
+    // cover exactly the sessions it lists
+    @Test
+    void snapshotsAreConsistentDuringWrites() throws Exception {
+        ConcurrentStudyTracker tracker = new ConcurrentStudyTracker();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                writers.add(pool.submit(() -> {
+                    for (int i = 0; i < PER_THREAD / 4; i++) {
+                        tracker.addSession(session(thread, i));
+                    }
+                }));
+            }
+            Future<?> done = pool.submit(() -> {
+                for (Future<?> writer : writers) {
+                    writer.get();
+                }
+                writing.set(false);
+                return null;
+            });
+
+            int checked = 0;
+            while (writing.get() || checked == 0) {
+                ConcurrentStudyTracker.Snapshot snapshot = tracker.snapshot();
+                int minutes = 0;
+                for (StudySession session : snapshot) {
+                    minutes += session.getDurationInMinutes();
+                }
+                assertEquals(minutes, snapshot.getTotalStudyMinutes());
+                assertTrue(snapshot.size() <= tracker.size());
+                checked++;
+            }
+            done.get(60, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(THREADS * (PER_THREAD / 4), tracker.size());
+    }
+}
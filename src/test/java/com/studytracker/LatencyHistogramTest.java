@@ -0,0 +1,94 @@
+package com.studytracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+    // Every value lands in a bucket whose range holds it and is at most ~3% wide
+    @Test
+    void bucketsCoverEveryValue() {
+        Random random = new Random(2);
+        for (int i = 0; i < 200_000; i++) {
+            long value = i < 1000 ? i : random.nextLong() >>> (1 + random.nextInt(63));
+            int index = LatencyHistogram.indexOf(value);
+            long highest = LatencyHistogram.highestValueIn(index);
+            long lowest = index == 0 ? 0 : LatencyHistogram.highestValueIn(index - 1) + 1;
+            assertTrue(lowest <= value && value <= highest, value + " in bucket " + index);
+            assertTrue(highest - lowest <= Math.max(0, lowest / 32), value + " bucket too wide");
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueIn(LatencyHistogram.indexOf(Long.MAX_VALUE)));
+    }
+
+    // Percentiles are within one bucket of the exact values from a sorted copy
+    @Test
+    void percentilesMatchSortedValues() {
+        Random random = new Random(6);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new long[100_000];
+        long sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextGaussian() * 2 + 10);
+            histogram.record(values[i]);
+            sum += values[i];
+        }
+        Arrays.sort(values);
+        LatencySummary summary = histogram.summarize();
+        assertEquals(values.length, summary.getCount());
+        assertEquals((double) sum / values.length, summary.getMean(), 1e-6);
+        assertEquals(values[values.length - 1], summary.getMax());
+        assertClose(values[(int) Math.ceil(0.50 * values.length) - 1], summary.getP50());
+        assertClose(values[(int) Math.ceil(0.90 * values.length) - 1], summary.getP90());
+        assertClose(values[(int) Math.ceil(0.99 * values.length) - 1], summary.getP99());
+        assertClose(values[(int) Math.ceil(0.999 * values.length) - 1], summary.getP999());
+    }
+
+    private static void assertClose(long exact, long reported) {
+        assertTrue(reported >= exact && reported <= exact + exact / 32, exact + " reported as " + reported);
+    }
+
+    @Test
+    void negativeValuesCountAsZeroAndResetClears() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        assertEquals(1, histogram.summarize().getCount());
+        assertEquals(0, histogram.summarize().getMax());
+        histogram.reset();
+        assertEquals(0, histogram.summarize().getCount());
+    }
+
+    // Named metrics are shared, show up in snapshots and reach every sink even
+    // when another sink throws
+    @Test
+    void metricsPublishToSinks() {
+        LatencyHistogram latency = Metrics.latency("test.latency");
+        assertSame(latency, Metrics.latency("test.latency"));
+        Metrics.counter("test.counter").add(3);
+        latency.record(1000);
+
+        List<MetricsSnapshot> published = new ArrayList<>();
+        Consumer<MetricsSnapshot> failing = snapshot -> {
+            throw new IllegalStateException("sink down");
+        };
+        Consumer<MetricsSnapshot> collecting = published::add;
+        Metrics.addSink(failing);
+        Metrics.addSink(collecting);
+        try {
+            Metrics.publish();
+        } finally {
+            Metrics.removeSink(failing);
+            Metrics.removeSink(collecting);
+        }
+        assertEquals(1, published.size());
+        assertEquals(3L, published.get(0).getCounters().get("test.counter"));
+        assertEquals(1000, published.get(0).getLatencies().get("test.latency").getMax());
+    }
+}
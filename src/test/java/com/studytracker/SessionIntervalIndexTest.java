@@ -0,0 +1,143 @@
+package com.studytracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+class SessionIntervalIndexTest {
+    private static final LocalDateTime FIRST = LocalDateTime.of(2024, 4, 1, 0, 0);
+
+    // Short and long sessions with shared boundaries, zero lengths, missing
+    // times and a few that end before they start
+    private static List<StudySession> sessions(int count, long seed) {
+        Random random = new Random(seed);
+        List<StudySession> sessions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = FIRST.plusMinutes(5L * random.nextInt(20_000));
+            int length = i % 50 == 0 ? random.nextInt(5000) : 5 * random.nextInt(30);
+            LocalDateTime end = i % 97 == 0 ? start.minusMinutes(10) : start.plusMinutes(length);
+            sessions.add(new StudySession(i % 89 == 0 ? null : start, end, "Subject " + i % 4));
+        }
+        return sessions;
+    }
+
+    private static boolean indexed(StudySession s) {
+        return s.hasDuration() && !s.getEndTime().isBefore(s.getStartTime());
+    }
+
+    private static Set<StudySession> scan(List<StudySession> sessions, Predicate<StudySession> matches) {
+        Set<StudySession> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (StudySession s : sessions) {
+            if (indexed(s) && matches.test(s)) {
+                result.add(s);
+            }
+        }
+        return result;
+    }
+
+    private static void assertSameSessions(Set<StudySession> expected, List<StudySession> actual, String query) {
+        Set<StudySession> found = Collections.newSetFromMap(new IdentityHashMap<>());
+        found.addAll(actual);
+        assertEquals(actual.size(), found.size(), query + " returned a session twice");
+        assertEquals(expected, found, query);
+        for (int i = 1; i < actual.size(); i++) {
+            assertFalse(actual.get(i).getStartTime().isBefore(actual.get(i - 1).getStartTime()), query + " out of order");
+        }
+    }
+
+    // Overlap, containment and point queries find what a scan of every
+    // session finds, with sessions as half-open [start, end) ranges
+    @Test
+    void queriesMatchBruteForce() {
+        List<StudySession> sessions = sessions(20_000, 1);
+        StudyTracker tracker = new StudyTracker();
+        // Half before the index is built, half kept current by addAll
+        for (int i = 0; i < sessions.size() / 2; i++) {
+            tracker.addSession(sessions.get(i));
+        }
+        tracker.getSessionsActiveAt(FIRST);
+        tracker.addAll(sessions.subList(sessions.size() / 2, sessions.size()));
+        List<StudySession> stored = tracker.getAllSessions();
+
+        Random random = new Random(2);
+        for (int q = 0; q < 300; q++) {
+            LocalDateTime from = FIRST.plusMinutes(5L * random.nextInt(20_000));
+            LocalDateTime to = from.plusMinutes(5L * random.nextInt(q % 10 == 0 ? 5000 : 100));
+            LocalDateTime time = FIRST.plusMinutes(5L * random.nextInt(20_000));
+            String range = from + ".." + to;
+            if (from.isBefore(to)) {
+                assertSameSessions(scan(stored, s -> s.getStartTime().isBefore(to) && s.getEndTime().isAfter(from)),
+                        tracker.getSessionsOverlapping(from, to), "overlapping " + range);
+            }
+            assertSameSessions(scan(stored, s -> !s.getStartTime().isBefore(from) && !s.getEndTime().isAfter(to)),
+                    tracker.getSessionsWithin(from, to), "within " + range);
+            assertSameSessions(scan(stored, s -> !s.getStartTime().isAfter(time) && s.getEndTime().isAfter(time)),
+                    tracker.getSessionsActiveAt(time), "active at " + time);
+        }
+        assertTrue(tracker.getSessionsOverlapping(FIRST.plusDays(1), FIRST).isEmpty());
+    }
+
+    private static boolean overlap(StudySession a, StudySession b) {
+        return a.getStartTime().isBefore(b.getEndTime()) && b.getStartTime().isBefore(a.getEndTime());
+    }
+
+    // Every overlapping pair within a batch and against the tracker, once each
+    @Test
+    void findOverlapsMatchesAllPairs() {
+        List<StudySession> tracked = sessions(3000, 3);
+        List<StudySession> batch = sessions(1500, 4);
+        StudyTracker tracker = new StudyTracker();
+        for (StudySession session : tracked) {
+            tracker.addSession(session);
+        }
+        batch.add(tracked.get(1).copy());
+        IdentityHashMap<StudySession, Integer> rows = new IdentityHashMap<>();
+        for (int row = 0; row < tracked.size(); row++) {
+            rows.put(tracked.get(row), row);
+        }
+
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            StudySession session = batch.get(i);
+            if (!indexed(session)) {
+                continue;
+            }
+            for (int j = 0; j < i; j++) {
+                if (indexed(batch.get(j)) && overlap(session, batch.get(j))) {
+                    expected.add(i + " with #" + j);
+                }
+            }
+            for (int row = 0; row < tracked.size(); row++) {
+                if (indexed(tracked.get(row)) && overlap(session, tracked.get(row))) {
+                    expected.add(i + " with tracked " + row);
+                }
+            }
+        }
+
+        Set<String> found = new HashSet<>();
+        int duplicates = 0;
+        for (SessionOverlap overlap : tracker.findOverlaps(batch)) {
+            assertEquals(batch.get(overlap.getBatchIndex()), overlap.getSession());
+            String other = overlap.isWithTracker() ? "tracked " + rows.get(overlap.getOther())
+                    : "#" + overlap.getOtherBatchIndex();
+            assertTrue(found.add(overlap.getBatchIndex() + " with " + other), "reported twice: " + overlap);
+            if (overlap.isDuplicate()) {
+                duplicates++;
+            }
+        }
+        assertEquals(expected, found);
+        assertTrue(duplicates >= 1);
+    }
+}
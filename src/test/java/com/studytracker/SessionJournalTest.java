@@ -0,0 +1,161 @@
+package com.studytracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SessionJournalTest {
+    @TempDir
+    Path directory;
+
+    private static StudySession session(int i) {
+        LocalDateTime start = LocalDateTime.of(2024, 2, 1, 7, 0).plusMinutes(i * 47L).plusNanos(i * 1_001L);
+        StudySession session = new StudySession(start, start.plusMinutes(20 + i % 90), "Subject " + (i % 9));
+        session.setDifficulty(1 + i % 5);
+        if (i % 3 == 0) {
+            session.setNotes("Notes " + i);
+        }
+        return session;
+    }
+
+    private SessionJournal open() throws IOException {
+        return SessionJournal.open(directory.toString(), SessionJournal.FsyncPolicy.NEVER);
+    }
+
+    private static void assertSameSessions(List<StudySession> expected, List<StudySession> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            StudySession e = expected.get(i);
+            StudySession a = actual.get(i);
+            assertEquals(e.getStartTime(), a.getStartTime());
+            assertEquals(e.getEndTime(), a.getEndTime());
+            assertEquals(e.getSubject(), a.getSubject());
+            assertEquals(e.getNotes(), a.getNotes());
+            assertEquals(e.getDifficulty(), a.getDifficulty());
+        }
+    }
+
+    // Sessions added one at a time and in batches, across compactions, all come back in order
+    @Test
+    void recoversAcrossCompactions() throws IOException {
+        List<StudySession> expected = new ArrayList<>();
+        StudyTracker tracker = new StudyTracker();
+        SessionJournal journal = open();
+        journal.setCompactionThreshold(1000);
+        journal.recover(tracker);
+        for (int i = 0; i < 5000; i++) {
+            tracker.addSession(session(i));
+            expected.add(session(i));
+        }
+        List<StudySession> batch = new ArrayList<>();
+        for (int i = 5000; i < 15_000; i++) {
+            batch.add(session(i));
+            expected.add(session(i));
+        }
+        tracker.addAll(batch);
+        tracker.compactJournal().join();
+        tracker.addSession(session(15_000));
+        expected.add(session(15_000));
+        journal.close();
+
+        StudyTracker recovered = new StudyTracker();
+        SessionJournal reopened = open();
+        LoadReport report = reopened.recover(recovered);
+        reopened.close();
+        assertEquals(expected.size(), report.getLoadedSessions());
+        assertSameSessions(expected, recovered.getAllSessions());
+    }
+
+    // The record is the session as it was when added, whatever happens to it afterwards
+    @Test
+    void logsSessionAsAdded() throws IOException {
+        StudyTracker tracker = new StudyTracker();
+        SessionJournal journal = open();
+        journal.recover(tracker);
+        StudySession session = session(1);
+        tracker.addSession(session);
+        session.setNotes("Changed later");
+        journal.close();
+
+        StudyTracker recovered = new StudyTracker();
+        SessionJournal reopened = open();
+        reopened.recover(recovered);
+        reopened.close();
+        assertSameSessions(List.of(session(1)), recovered.getAllSessions());
+    }
+
+    // A crash mid-write leaves a torn frame at the end of the newest journal; it's dropped
+    @Test
+    void dropsTornTailOfNewestJournal() throws IOException {
+        StudyTracker tracker = new StudyTracker();
+        SessionJournal journal = open();
+        journal.recover(tracker);
+        for (int i = 0; i < 100; i++) {
+            tracker.addSession(session(i));
+        }
+        journal.flush();
+        tracker.addSession(session(100));
+        journal.close();
+        Path log = directory.resolve("journal-0.log");
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        StudyTracker recovered = new StudyTracker();
+        SessionJournal reopened = open();
+        LoadReport report = reopened.recover(recovered);
+        reopened.close();
+        assertEquals(100, report.getLoadedSessions());
+        assertEquals(1, report.getSkippedLines());
+        assertSameSessions(tracker.getAllSessions().subList(0, 100), recovered.getAllSessions());
+    }
+
+    // An older journal was complete when its generation ended, so damage there is an error
+    @Test
+    void failsOnCorruptOlderJournal() throws IOException {
+        Files.write(directory.resolve("journal-0.log"), new byte[] {0, 0, 0, 9, 1, 2, 3, 4, 5});
+        Files.createFile(directory.resolve("journal-1.log"));
+        SessionJournal journal = open();
+        assertThrows(IOException.class, () -> journal.recover(new StudyTracker()));
+        assertEquals(9, Files.size(directory.resolve("journal-0.log")));
+    }
+
+    @Test
+    void failsOnMissingJournal() throws IOException {
+        Files.createFile(directory.resolve("journal-0.log"));
+        Files.createFile(directory.resolve("journal-2.log"));
+        SessionJournal journal = open();
+        assertThrows(IOException.class, () -> journal.recover(new StudyTracker()));
+    }
+
+    // Once the writer is gone, appends fail instead of queueing sessions nothing will write
+    @Test
+    void appendsFailAfterWriterInterrupted() throws Exception {
+        StudyTracker tracker = new StudyTracker();
+        SessionJournal journal = open();
+        journal.recover(tracker);
+        Thread writer = null;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("session-journal-writer") && thread.isAlive()) {
+                writer = thread;
+            }
+        }
+        writer.interrupt();
+        writer.join(10_000);
+        assertThrows(UncheckedIOException.class, () -> tracker.addSession(session(1)));
+        assertEquals(0, tracker.getAllSessions().size());
+        assertThrows(IOException.class, journal::close);
+    }
+}
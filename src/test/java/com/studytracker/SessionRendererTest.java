@@ -0,0 +1,64 @@
+package com.studytracker;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SessionRendererTest {
+    private static List<StudySession> sessions(int count) {
+        List<StudySession> sessions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0).plusMinutes(i * 71L);
+            String subject = i % 3 == 0 ? "\u00c9tudes \u6570\u5b66" : "Subject " + (i % 11);
+            sessions.add(new StudySession(start, start.plusMinutes(i % 120), subject));
+        }
+        return sessions;
+    }
+
+    // What System.out.println(session) would write through the same stream
+    private static byte[] println(List<StudySession> sessions, Charset charset) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, false, charset);
+        for (StudySession session : sessions) {
+            out.println(session);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    // A PrintStream encodes with its own charset, whatever the renderer's is
+    @Test
+    void printStreamMatchesPrintln() throws IOException {
+        List<StudySession> sessions = sessions(20_000);
+        for (Charset charset : List.of(StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1, StandardCharsets.UTF_16)) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            long lines = new SessionRenderer(StandardCharsets.US_ASCII).render(sessions, new PrintStream(bytes, false, charset));
+            assertEquals(sessions.size(), lines);
+            assertArrayEquals(println(sessions, charset), bytes.toByteArray(), charset.name());
+        }
+    }
+
+    // A raw stream gets the renderer's charset, with or without cached lines
+    @Test
+    void rawStreamUsesRendererCharset() throws IOException {
+        List<StudySession> sessions = sessions(20_000);
+        SessionRenderer renderer = new SessionRenderer(StandardCharsets.UTF_8);
+        renderer.setCacheLines(true);
+        for (int pass = 0; pass < 2; pass++) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            renderer.render(sessions, (OutputStream) bytes);
+            assertArrayEquals(println(sessions, StandardCharsets.UTF_8), bytes.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.studytracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SessionRollupsTest {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    // Some sessions run past midnight, some have no subject
+    private static List<StudySession> sessions(int count) {
+        Random random = new Random(12);
+        List<StudySession> sessions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = FIRST_DAY.atStartOfDay().plusMinutes(random.nextInt(60 * 24 * 120)).plusSeconds(random.nextInt(60));
+            LocalDateTime end = start.plusMinutes(random.nextInt(i % 10 == 0 ? 3000 : 180)).plusSeconds(random.nextInt(60));
+            StudySession session = new StudySession(start, end, i % 13 == 0 ? null : "Subject " + random.nextInt(5));
+            session.setDifficulty(1 + random.nextInt(5));
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
+    // Minutes per day and subject worked out from the sessions directly, one minute at a time
+    private static Map<LocalDate, Map<String, Long>> minutesByDay(List<StudySession> sessions) {
+        Map<LocalDate, Map<String, Long>> result = new HashMap<>();
+        for (StudySession session : sessions) {
+            LocalDateTime start = session.getStartTime();
+            for (int minute = 0; minute < session.getDurationInMinutes(); minute++) {
+                // A whole minute belongs to the day it ends on
+                LocalDate day = start.plusMinutes(minute + 1L).minusNanos(1).toLocalDate();
+                result.computeIfAbsent(day, k -> new HashMap<>()).merge(session.getSubject(), 1L, Long::sum);
+            }
+        }
+        return result;
+    }
+
+    @Test
+    void dailyBucketsMatchSessions() {
+        List<StudySession> sessions = sessions(3000);
+        StudyTracker tracker = new StudyTracker();
+        for (StudySession session : sessions) {
+            tracker.addSession(session);
+        }
+        SessionRollups rollups = tracker.getRollups();
+        Map<LocalDate, Map<String, Long>> expected = minutesByDay(sessions);
+
+        long totalMinutes = 0;
+        for (RollupBucket total : rollups.getTotals(RollupPeriod.DAY, FIRST_DAY, FIRST_DAY.plusDays(200))) {
+            assertTrue(total.isTotal());
+            assertNull(total.getSubject());
+            Map<String, Long> bySubject = expected.getOrDefault(total.getPeriodStart(), Map.of());
+            assertEquals(bySubject.values().stream().mapToLong(Long::longValue).sum(), total.getMinutes(),
+                    total.getPeriodStart().toString());
+            totalMinutes += total.getMinutes();
+        }
+        assertEquals(tracker.getTotalStudyMinutes(), totalMinutes);
+
+        for (RollupBucket bucket : rollups.getBuckets(RollupPeriod.DAY, FIRST_DAY, FIRST_DAY.plusDays(200))) {
+            assertFalse(bucket.isTotal());
+            Map<String, Long> bySubject = expected.getOrDefault(bucket.getPeriodStart(), Map.of());
+            assertEquals(bySubject.getOrDefault(bucket.getSubject(), 0L), bucket.getMinutes(), bucket.toString());
+        }
+    }
+
+    // Buckets built after the sessions were added match ones kept up to date as they arrived
+    @Test
+    void lateBuildMatchesIncremental() {
+        List<StudySession> sessions = sessions(2000);
+        StudyTracker incremental = new StudyTracker();
+        incremental.getRollups();
+        StudyTracker late = new StudyTracker();
+        for (StudySession session : sessions) {
+            incremental.addSession(session);
+            late.addSession(session);
+        }
+        for (RollupPeriod period : RollupPeriod.values()) {
+            List<RollupBucket> expected = late.getRollups().getBuckets(period, FIRST_DAY, FIRST_DAY.plusDays(200));
+            List<RollupBucket> actual = incremental.getRollups().getBuckets(period, FIRST_DAY, FIRST_DAY.plusDays(200));
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).toString(), actual.get(i).toString());
+                assertEquals(expected.get(i).getAverageDifficulty(), actual.get(i).getAverageDifficulty());
+            }
+        }
+    }
+
+    // Sessions without a subject get their own bucket, distinct from the total
+    @Test
+    void noSubjectBucketIsNotTheTotal() {
+        StudyTracker tracker = new StudyTracker();
+        LocalDateTime start = FIRST_DAY.atTime(10, 0);
+        tracker.addSession(new StudySession(start, start.plusMinutes(30), null));
+        tracker.addSession(new StudySession(start, start.plusMinutes(45), "Math"));
+        SessionRollups rollups = tracker.getRollups();
+
+        RollupBucket noSubject = rollups.getSubjectBuckets(RollupPeriod.DAY, null, FIRST_DAY, FIRST_DAY).get(0);
+        RollupBucket total = rollups.getTotals(RollupPeriod.DAY, FIRST_DAY, FIRST_DAY).get(0);
+        assertFalse(noSubject.isTotal());
+        assertEquals(30, noSubject.getMinutes());
+        assertTrue(total.isTotal());
+        assertEquals(75, total.getMinutes());
+        assertTrue(total.toString().contains("(all subjects)"));
+        assertTrue(noSubject.toString().contains("(no subject)"));
+    }
+}
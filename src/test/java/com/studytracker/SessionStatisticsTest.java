@@ -0,0 +1,143 @@
+package com.studytracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+class SessionStatisticsTest {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 10, 1);
+
+    // Gappy days so there are several runs, plus null sessions and missing fields
+    private static List<StudySession> sessions(int count) {
+        Random random = new Random(21);
+        List<StudySession> sessions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (i % 101 == 0) {
+                sessions.add(null);
+                continue;
+            }
+            int day = random.nextInt(200);
+            if (day % 9 == 4) {
+                day++;
+            }
+            LocalDateTime start = FIRST_DAY.plusDays(day).atTime(random.nextInt(24), random.nextInt(60));
+            StudySession session = new StudySession(i % 57 == 0 ? null : start, start.plusMinutes(random.nextInt(200)),
+                    i % 23 == 0 ? null : "Subject " + random.nextInt(9));
+            session.setDifficulty(1 + random.nextInt(5));
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
+    private static int longestRun(Set<LocalDate> days) {
+        int longest = 0;
+        for (LocalDate day : days) {
+            int run = 0;
+            while (days.contains(day.plusDays(run))) {
+                run++;
+            }
+            longest = Math.max(longest, run);
+        }
+        return longest;
+    }
+
+    // The single pass matches sums, sets and runs worked out directly
+    @Test
+    void sequentialMatchesDirectComputation() {
+        List<StudySession> sessions = sessions(20_000);
+        SessionStatistics stats = SessionStatistics.compute(sessions);
+
+        long minutes = 0;
+        long weighted = 0;
+        long weightedMinutes = 0;
+        Map<String, Long> bySubject = new HashMap<>();
+        Map<String, Integer> countBySubject = new HashMap<>();
+        Set<LocalDate> days = new HashSet<>();
+        for (StudySession session : sessions) {
+            if (session == null) {
+                continue;
+            }
+            int duration = session.getDurationInMinutes();
+            minutes += duration;
+            if (duration > 0) {
+                weighted += (long) session.getDifficulty() * duration;
+                weightedMinutes += duration;
+            }
+            bySubject.merge(session.getSubject(), (long) duration, Long::sum);
+            countBySubject.merge(session.getSubject(), 1, Integer::sum);
+            if (session.getStartTime() != null) {
+                days.add(session.getStartTime().toLocalDate());
+            }
+        }
+        assertEquals(sessions.size(), stats.getSessionCount());
+        assertEquals(minutes, stats.getTotalStudyMinutesExact());
+        assertEquals((double) minutes / sessions.size(), stats.getAverageSessionLength(), 1e-9);
+        assertEquals((double) weighted / weightedMinutes, stats.getWeightedAverageDifficulty(), 1e-12);
+        assertEquals(bySubject, stats.getMinutesBySubject());
+        assertEquals(countBySubject, stats.getSessionCountBySubject());
+        assertEquals(days.size(), stats.getStudyDayCount());
+        assertEquals(longestRun(days), stats.getLongestStreak());
+    }
+
+    // Splitting the work gives exactly the sequential answer at any threshold,
+    // and the tracker's own getters agree
+    @Test
+    void parallelMatchesSequentialAndTracker() {
+        List<StudySession> sessions = sessions(50_000);
+        SessionStatistics expected = SessionStatistics.compute(sessions);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int threshold : new int[] {1_000, 777, 10_000, 100_000}) {
+                SessionStatistics actual = SessionStatistics.compute(sessions, pool, threshold);
+                assertEquals(expected.getSessionCount(), actual.getSessionCount());
+                assertEquals(expected.getTotalStudyMinutesExact(), actual.getTotalStudyMinutesExact());
+                assertEquals(expected.getWeightedAverageDifficulty(), actual.getWeightedAverageDifficulty());
+                assertEquals(expected.getMinutesBySubject(), actual.getMinutesBySubject());
+                assertEquals(expected.getSessionCountBySubject(), actual.getSessionCountBySubject());
+                assertEquals(expected.getStudyStreak(), actual.getStudyStreak());
+                assertEquals(expected.getLongestStreak(), actual.getLongestStreak(), "threshold " + threshold);
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        StudyTracker tracker = new StudyTracker();
+        for (StudySession session : sessions) {
+            if (session != null) {
+                tracker.addSession(session);
+            }
+        }
+        SessionStatistics fromTracker = tracker.computeStatistics(ForkJoinPool.commonPool(), 2_000);
+        assertEquals(tracker.getTotalStudyMinutes(), fromTracker.getTotalStudyMinutes());
+        assertEquals(tracker.getAverageSessionLength(), fromTracker.getAverageSessionLength(), 1e-9);
+        assertEquals(tracker.getStudyStreak(), fromTracker.getStudyStreak());
+    }
+
+    @Test
+    void rejectsThresholdBelowOne() {
+        List<StudySession> sessions = sessions(10);
+        assertThrows(IllegalArgumentException.class, () -> SessionStatistics.compute(sessions, ForkJoinPool.commonPool(), 0));
+    }
+
+    @Test
+    void emptyListIsAllZero() {
+        SessionStatistics stats = SessionStatistics.compute(List.of());
+        assertEquals(0, stats.getSessionCount());
+        assertEquals(0.0, stats.getAverageSessionLength());
+        assertEquals(0.0, stats.getWeightedAverageDifficulty());
+        assertEquals(0, stats.getStudyStreak());
+        assertEquals(0, stats.getLongestStreak());
+    }
+}
@@ -0,0 +1,120 @@
+package com.studytracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SimpleFileStorageTest {
+    @TempDir
+    Path directory;
+
+    private static List<StudySession> sessions(int count) {
+        List<StudySession> sessions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = LocalDateTime.of(2024, 5, 1, 6, 0).plusMinutes(i * 53L).plusSeconds(i % 60);
+            String subject = i % 5 == 0 ? "Math\u00e9matiques" : "Subject " + (i % 7);
+            sessions.add(new StudySession(start, start.plusMinutes(15 + i % 100), subject));
+        }
+        return sessions;
+    }
+
+    private static void assertSameCsvFields(List<StudySession> expected, List<StudySession> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getStartTime(), actual.get(i).getStartTime());
+            assertEquals(expected.get(i).getEndTime(), actual.get(i).getEndTime());
+            assertEquals(expected.get(i).getSubject(), actual.get(i).getSubject());
+        }
+    }
+
+    // What saveSessions writes, loadSessions reads back: times and subject
+    @Test
+    void csvRoundTrip() {
+        SimpleFileStorage storage = new SimpleFileStorage(directory.resolve("sessions.csv").toString());
+        List<StudySession> saved = sessions(5000);
+        storage.saveSessions(saved);
+        assertSameCsvFields(saved, storage.loadSessions());
+    }
+
+    // Malformed lines are skipped and counted; the rest load in order
+    @Test
+    void skipsMalformedLines() throws IOException {
+        Path file = directory.resolve("mixed.csv");
+        Files.write(file, List.of(
+                "2024-01-01T10:00,2024-01-01T11:00,Math",
+                "not a session",
+                "2024-01-01T12:00,2024-01-01T11:00",
+                "2024-01-02T10:00:30.5,2024-01-02T10:45,Physics"), StandardCharsets.UTF_8);
+        List<StudySession> loaded = new ArrayList<>();
+        LoadReport report = new SimpleFileStorage(file.toString()).loadSessions(loaded::add);
+        assertEquals(2, report.getLoadedSessions());
+        assertEquals(2, report.getSkippedLines());
+        assertEquals("Physics", loaded.get(1).getSubject());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 10, 0, 30, 500_000_000), loaded.get(1).getStartTime());
+    }
+
+    // A load that fails partway reports the sessions the consumer already got
+    @Test
+    void failedLoadReportsSessionsDelivered() {
+        SimpleFileStorage storage = new SimpleFileStorage(directory.resolve("sessions.csv").toString());
+        storage.saveSessions(sessions(1000));
+        List<StudySession> received = new ArrayList<>();
+        LoadReport report = storage.loadSessions(session -> {
+            if (received.size() == 250) {
+                throw new UncheckedIOException(new IOException("disk went away"));
+            }
+            received.add(session);
+        });
+        assertEquals(250, report.getLoadedSessions());
+    }
+
+    // Parallel chunked load gives the same sessions, in the same order, as the streaming load
+    @Test
+    void parallelLoadMatchesStreamingLoad() throws IOException {
+        Path file = directory.resolve("large.csv");
+        SimpleFileStorage storage = new SimpleFileStorage(file.toString());
+        storage.saveSessions(sessions(60_000));
+        Files.write(file, List.of("garbage line", "2024-01-01T10:00,2024-01-01T09:00,Backwards"),
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        StudyTracker streamed = new StudyTracker();
+        LoadReport expected = storage.loadInto(streamed);
+        StudyTracker parallel = new StudyTracker();
+        LoadReport actual = storage.loadParallel(parallel, new ForkJoinPool(4));
+        assertEquals(expected.getLoadedSessions(), actual.getLoadedSessions());
+        assertEquals(expected.getSkippedLines(), actual.getSkippedLines());
+        assertSameCsvFields(streamed.getAllSessions(), parallel.getAllSessions());
+        assertEquals(streamed.getTotalStudyMinutes(), parallel.getTotalStudyMinutes());
+    }
+
+    // Sessions added before a failure stay in the tracker and are counted
+    @Test
+    void failedParallelLoadReportsSessionsAdded() {
+        SimpleFileStorage storage = new SimpleFileStorage(directory.resolve("sessions.csv").toString());
+        storage.saveSessions(sessions(60_000));
+        StudyTracker failing = new StudyTracker() {
+            @Override
+            public void addSession(StudySession session) {
+                if (sessionsView().size() == 40_000) {
+                    throw new UncheckedIOException(new IOException("journal failed"));
+                }
+                super.addSession(session);
+            }
+        };
+        LoadReport report = storage.loadParallel(failing, new ForkJoinPool(4));
+        assertEquals(40_000, report.getLoadedSessions());
+        assertEquals(40_000, failing.getAllSessions().size());
+    }
+}
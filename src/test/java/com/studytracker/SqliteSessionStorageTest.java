@@ -0,0 +1,126 @@
+package com.studytracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SqliteSessionStorageTest {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 7, 1);
+
+    @TempDir
+    Path directory;
+
+    // The interface's own scanning queries over a plain list, as the reference answers
+    private static final class ListStorage implements SessionStorage {
+        private final List<StudySession> sessions = new ArrayList<>();
+
+        @Override
+        public void saveSessions(List<StudySession> saved) {
+            sessions.clear();
+            sessions.addAll(saved);
+        }
+
+        @Override
+        public LoadReport loadSessions(Consumer<StudySession> consumer) {
+            sessions.forEach(consumer);
+            return new LoadReport(sessions.size(), 0);
+        }
+    }
+
+    // Saved out of day order, with sub-second times and missing fields
+    private static List<StudySession> sessions(int count) {
+        Random random = new Random(17);
+        List<StudySession> sessions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = FIRST_DAY.atStartOfDay().plusSeconds(random.nextInt(60 * 24 * 3600))
+                    .plusNanos(i % 3 == 0 ? random.nextInt(1_000_000_000) : 0);
+            StudySession session = new StudySession(i % 41 == 0 ? null : start,
+                    i % 43 == 0 ? null : start.plusSeconds(random.nextInt(4 * 3600)),
+                    i % 29 == 0 ? null : "Subject " + random.nextInt(7));
+            session.setDifficulty(1 + random.nextInt(5));
+            if (i % 3 == 1) {
+                session.setNotes("Notes " + i);
+            } else if (i % 3 == 2) {
+                session.setNotes(null);
+            }
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
+    // Every stored field, so sessions read back compare equal to the originals
+    private static List<String> fields(List<StudySession> sessions) {
+        List<String> result = new ArrayList<>(sessions.size());
+        for (StudySession s : sessions) {
+            result.add(s.getStartTime() + "|" + s.getEndTime() + "|" + s.getSubject() + "|" + s.getNotes() + "|" + s.getDifficulty());
+        }
+        return result;
+    }
+
+    @Test
+    void roundTripKeepsEveryField() {
+        List<StudySession> sessions = sessions(5000);
+        try (SqliteSessionStorage storage = new SqliteSessionStorage(directory.resolve("sessions.db").toString())) {
+            storage.saveSessions(sessions);
+            assertEquals(fields(sessions), fields(storage.loadSessions()));
+            assertEquals(sessions.size(), storage.getSessionCount());
+
+            // Saving again replaces, appending adds to the end
+            storage.saveSessions(sessions.subList(0, 100));
+            assertEquals(100, storage.appendSessions(sessions.subList(100, 200)));
+            assertEquals(fields(sessions.subList(0, 200)), fields(storage.loadSessions()));
+        }
+        // And it's all still there after reopening the file
+        try (SqliteSessionStorage storage = new SqliteSessionStorage(directory.resolve("sessions.db").toString())) {
+            assertEquals(200, storage.getSessionCount());
+        }
+    }
+
+    // The SQL queries answer exactly what the interface's scanning defaults answer
+    @Test
+    void queriesMatchScanningDefaults() {
+        List<StudySession> sessions = sessions(8000);
+        ListStorage expected = new ListStorage();
+        expected.saveSessions(sessions);
+        try (SqliteSessionStorage storage = new SqliteSessionStorage(directory.resolve("sessions.db").toString())) {
+            storage.saveSessions(sessions);
+
+            for (String subject : new String[] {"Subject 0", "Subject 6", "Nothing", null}) {
+                assertEquals(fields(expected.getSessionsBySubject(subject)), fields(storage.getSessionsBySubject(subject)), subject);
+            }
+            for (LocalDate date = FIRST_DAY.minusDays(1); date.isBefore(FIRST_DAY.plusDays(62)); date = date.plusDays(1)) {
+                assertEquals(fields(expected.getSessionsOnDate(date)), fields(storage.getSessionsOnDate(date)), date.toString());
+            }
+            assertEquals(fields(expected.getSessionsBetween(FIRST_DAY.plusDays(5), FIRST_DAY.plusDays(25))),
+                    fields(storage.getSessionsBetween(FIRST_DAY.plusDays(5), FIRST_DAY.plusDays(25))));
+            assertEquals(List.of(), storage.getSessionsBetween(FIRST_DAY.plusDays(5), FIRST_DAY));
+            assertEquals(expected.getTotalStudyMinutes(), storage.getTotalStudyMinutes());
+            assertEquals(expected.getMinutesBySubject(), storage.getMinutesBySubject());
+
+            StudyTracker tracker = new StudyTracker();
+            expected.loadInto(tracker);
+            assertEquals(tracker.getAverageSessionLength(), storage.getAverageSessionLength(), 1e-9);
+            assertEquals(tracker.getStudyStreak(), storage.getStudyStreak());
+        }
+    }
+
+    @Test
+    void emptyDatabase() {
+        try (SqliteSessionStorage storage = new SqliteSessionStorage(directory.resolve("empty.db").toString())) {
+            assertEquals(0, storage.getSessionCount());
+            assertEquals(0, storage.getTotalStudyMinutes());
+            assertEquals(0.0, storage.getAverageSessionLength());
+            assertEquals(0, storage.getStudyStreak());
+            assertEquals(List.of(), storage.loadSessions());
+        }
+    }
+}
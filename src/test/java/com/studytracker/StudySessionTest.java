@@ -0,0 +1,58 @@
+package com.studytracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class StudySessionTest {
+    private static LocalDateTime time(Random random) {
+        if (random.nextInt(20) == 0) {
+            return null;
+        }
+        return LocalDateTime.of(2024, 1, 1, 0, 0)
+                .plusSeconds(random.nextInt(3 * 24 * 3600))
+                .plusNanos(random.nextInt(4) == 0 ? 0 : random.nextInt(1_000_000_000));
+    }
+
+    // What getDurationInMinutes() returned before the duration was cached
+    private static long expectedMinutes(StudySession session) {
+        if (session.getStartTime() == null || session.getEndTime() == null) {
+            return 0;
+        }
+        return Duration.between(session.getStartTime(), session.getEndTime()).toMinutes();
+    }
+
+    // The cached duration follows every accepted or rejected setter call,
+    // including sub-second times and ends before starts from the constructor
+    @Test
+    void cachedDurationMatchesDurationBetween() {
+        Random random = new Random(4);
+        for (int i = 0; i < 20_000; i++) {
+            StudySession session = new StudySession(time(random), time(random), "Subject");
+            assertEquals(expectedMinutes(session), session.getDurationInMinutes(), session.getStartTime() + " " + session.getEndTime());
+            for (int edit = 0; edit < 4; edit++) {
+                if (random.nextBoolean()) {
+                    session.setStartTime(time(random));
+                } else {
+                    session.setEndTime(time(random));
+                }
+                assertEquals(expectedMinutes(session), session.getDurationInMinutes(),
+                        session.getStartTime() + " " + session.getEndTime());
+            }
+        }
+    }
+
+    // Nanoseconds are not rounded up into a whole minute
+    @Test
+    void partialMinutesRoundDown() {
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 10, 0, 0, 500_000_000);
+        assertEquals(0, new StudySession(start, start.plusSeconds(59).plusNanos(499_999_999), "Math").getDurationInMinutes());
+        assertEquals(1, new StudySession(start, start.plusMinutes(1), "Math").getDurationInMinutes());
+        assertEquals(-1, new StudySession(start, start.minusSeconds(61), "Math").getDurationInMinutes());
+        assertEquals(0, new StudySession(null, start, "Math").getDurationInMinutes());
+    }
+}
@@ -0,0 +1,254 @@
+package com.studytracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class StudyTrackerTest {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 3, 1);
+
+    // Several sessions a day over a few months, some without a subject or a start time
+    private static List<StudySession> sessions(int count) {
+        Random random = new Random(5);
+        List<StudySession> sessions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = FIRST_DAY.atStartOfDay().plusMinutes(random.nextInt(60 * 24 * 90));
+            StudySession session = new StudySession(i % 97 == 0 ? null : start, start.plusMinutes(random.nextInt(240)),
+                    i % 17 == 0 ? null : "Subject " + random.nextInt(8));
+            session.setDifficulty(1 + random.nextInt(5));
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
+    private static StudyTracker tracker(List<StudySession> sessions) {
+        StudyTracker tracker = new StudyTracker();
+        for (StudySession session : sessions) {
+            tracker.addSession(session);
+        }
+        return tracker;
+    }
+
+    // The list scans the tracker used before it kept indexes
+    private static List<StudySession> scanBySubject(List<StudySession> sessions, String subject) {
+        List<StudySession> result = new ArrayList<>();
+        for (StudySession s : sessions) {
+            if (s.getSubject() == null || s.getSubject().equals(subject)) {
+                result.add(s);
+            }
+        }
+        return result;
+    }
+
+    private static List<StudySession> scanOnDate(List<StudySession> sessions, LocalDate date) {
+        List<StudySession> result = new ArrayList<>();
+        for (StudySession s : sessions) {
+            if (s.getStartTime() != null && s.getStartTime().toLocalDate().equals(date)) {
+                result.add(s);
+            }
+        }
+        return result;
+    }
+
+    // Subject and date lookups return what a scan of every session returns, in the same order
+    @Test
+    void indexesMatchListScan() {
+        List<StudySession> sessions = sessions(5000);
+        StudyTracker tracker = tracker(sessions);
+        for (String subject : new String[] {"Subject 0", "Subject 7", "Subject 9", null}) {
+            assertEquals(scanBySubject(sessions, subject), tracker.getSessionsBySubject(subject), subject);
+        }
+        for (LocalDate date = FIRST_DAY.minusDays(2); date.isBefore(FIRST_DAY.plusDays(93)); date = date.plusDays(1)) {
+            assertEquals(scanOnDate(sessions, date), tracker.getSessionsOnDate(date), date.toString());
+        }
+        assertEquals(List.of(), tracker.getSessionsOnDate(null));
+    }
+
+    // A date range is the per-day results concatenated in date order
+    @Test
+    void betweenIsPerDayInDateOrder() {
+        List<StudySession> sessions = sessions(5000);
+        StudyTracker tracker = tracker(sessions);
+        LocalDate from = FIRST_DAY.plusDays(10);
+        LocalDate to = FIRST_DAY.plusDays(40);
+        List<StudySession> expected = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            expected.addAll(scanOnDate(sessions, date));
+        }
+        assertEquals(expected, tracker.getSessionsBetween(from, to));
+        assertEquals(List.of(), tracker.getSessionsBetween(to, from));
+        assertEquals(List.of(), tracker.getSessionsBetween(null, to));
+    }
+
+    // The streak as the tracker worked it out before: distinct days, newest first, counted until a gap
+    private static int recomputeStreak(List<StudySession> sessions) {
+        List<LocalDate> days = new ArrayList<>();
+        for (StudySession s : sessions) {
+            if (s.getStartTime() != null && !days.contains(s.getStartTime().toLocalDate())) {
+                days.add(s.getStartTime().toLocalDate());
+            }
+        }
+        if (days.isEmpty()) {
+            return 0;
+        }
+        Collections.sort(days, Collections.reverseOrder());
+        int streak = 1;
+        for (int i = 1; i < days.size() && days.get(i).equals(days.get(i - 1).minusDays(1)); i++) {
+            streak++;
+        }
+        return streak;
+    }
+
+    // Running totals, average and streak match a recomputation after every add,
+    // with days arriving out of order so gaps get filled behind the latest day
+    @Test
+    void runningTotalsMatchRecomputation() {
+        Random random = new Random(9);
+        StudyTracker tracker = new StudyTracker();
+        List<StudySession> added = new ArrayList<>();
+        assertEquals(0, tracker.getStudyStreak());
+        assertEquals(0.0, tracker.getAverageSessionLength());
+        for (int i = 0; i < 600; i++) {
+            LocalDateTime start = FIRST_DAY.plusDays(random.nextInt(60)).atTime(random.nextInt(24), random.nextInt(60));
+            StudySession session = new StudySession(i % 41 == 0 ? null : start, start.plusMinutes(random.nextInt(300)), "Subject");
+            tracker.addSession(session);
+            added.add(session);
+
+            int total = 0;
+            for (StudySession s : added) {
+                total += s.getDurationInMinutes();
+            }
+            assertEquals(total, tracker.getTotalStudyMinutes());
+            assertEquals((double) total / added.size(), tracker.getAverageSessionLength(), 1e-9);
+            assertEquals(recomputeStreak(added), tracker.getStudyStreak(), "after " + added.size() + " sessions");
+        }
+    }
+
+    // Views and streams list the same sessions as the copying getters, and
+    // don't pick up sessions added after they were taken
+    @Test
+    void viewsMatchCopies() {
+        List<StudySession> sessions = sessions(3000);
+        StudyTracker tracker = tracker(sessions);
+        List<StudySession> all = tracker.sessionsView();
+        List<StudySession> math = tracker.sessionsBySubjectView("Subject 2");
+        LocalDate day = FIRST_DAY.plusDays(15);
+        List<StudySession> onDay = tracker.sessionsOnDateView(day);
+
+        assertEquals(tracker.getAllSessions(), all);
+        assertEquals(tracker.getSessionsBySubject("Subject 2"), math);
+        assertEquals(tracker.getSessionsOnDate(day), onDay);
+        assertEquals(tracker.getAllSessions(), tracker.streamSessions().collect(Collectors.toList()));
+        assertEquals(tracker.getSessionsBySubject("Subject 2"), tracker.streamSessionsBySubject("Subject 2").collect(Collectors.toList()));
+        assertEquals(tracker.getSessionsOnDate(day), tracker.streamSessionsOnDate(day).collect(Collectors.toList()));
+        assertEquals(tracker.getSessionsBetween(day, day.plusDays(9)),
+                tracker.streamSessionsBetween(day, day.plusDays(9)).collect(Collectors.toList()));
+        assertEquals(0, tracker.streamSessionsBetween(day, day.minusDays(1)).count());
+
+        LocalDateTime start = day.atTime(12, 0);
+        tracker.addSession(new StudySession(start, start.plusMinutes(30), "Subject 2"));
+        assertEquals(sessions.size(), all.size());
+        assertEquals(tracker.getSessionsBySubject("Subject 2").size() - 1, math.size());
+        assertEquals(tracker.getSessionsOnDate(day).size() - 1, onDay.size());
+        assertThrows(UnsupportedOperationException.class, () -> all.add(null));
+        assertThrows(IndexOutOfBoundsException.class, () -> all.get(sessions.size()));
+    }
+
+    // Pages cover the view in order, like subList over a copy
+    @Test
+    void pagesMatchSubList() {
+        StudyTracker tracker = tracker(sessions(1000));
+        List<StudySession> all = tracker.getAllSessions();
+        List<StudySession> paged = new ArrayList<>();
+        for (int offset = 0; offset < all.size(); offset += 64) {
+            List<StudySession> page = StudyTracker.page(tracker.sessionsView(), offset, 64);
+            assertEquals(all.subList(offset, Math.min(offset + 64, all.size())), page);
+            paged.addAll(page);
+        }
+        assertEquals(all, paged);
+        assertEquals(List.of(), StudyTracker.page(tracker.sessionsView(), 5000, 10));
+        assertEquals(all.subList(990, 1000), StudyTracker.page(tracker.sessionsView(), 990, Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> StudyTracker.page(all, -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> StudyTracker.page(all, 0, -1));
+    }
+
+    // Batches left unsorted by day, one per call, against the same sessions added one at a time
+    @Test
+    void addAllMatchesAddSession() {
+        List<StudySession> sessions = new ArrayList<>();
+        for (StudySession session : sessions(6000)) {
+            if (session.getStartTime() != null && session.getSubject() != null) {
+                sessions.add(session);
+            }
+        }
+        StudyTracker single = new StudyTracker();
+        StudyTracker batched = new StudyTracker();
+        single.getRollups();
+        batched.getRollups();
+        for (int from = 0; from < sessions.size(); from += 700) {
+            List<StudySession> batch = sessions.subList(from, Math.min(from + 700, sessions.size()));
+            for (StudySession session : batch) {
+                single.addSession(session);
+            }
+            BatchReport report = batched.addAll(batch);
+            assertEquals(batch.size(), report.getAcceptedCount());
+            assertEquals(0, report.getRejectedCount());
+        }
+
+        assertEquals(single.getAllSessions(), batched.getAllSessions());
+        assertEquals(single.getTotalStudyMinutes(), batched.getTotalStudyMinutes());
+        assertEquals(single.getAverageSessionLength(), batched.getAverageSessionLength());
+        assertEquals(single.getStudyStreak(), batched.getStudyStreak());
+        assertEquals(single.getSessionsBySubject("Subject 4"), batched.getSessionsBySubject("Subject 4"));
+        assertEquals(single.getSessionsBetween(FIRST_DAY, FIRST_DAY.plusDays(90)), batched.getSessionsBetween(FIRST_DAY, FIRST_DAY.plusDays(90)));
+        LocalDateTime noon = FIRST_DAY.plusDays(30).atTime(12, 0);
+        assertEquals(single.getSessionsActiveAt(noon), batched.getSessionsActiveAt(noon));
+        assertEquals(single.getRollups().getBuckets(RollupPeriod.WEEK, FIRST_DAY, FIRST_DAY.plusDays(90)).toString(),
+                batched.getRollups().getBuckets(RollupPeriod.WEEK, FIRST_DAY, FIRST_DAY.plusDays(90)).toString());
+    }
+
+    // Invalid sessions are reported by position and reason; the rest go in, in order
+    @Test
+    void addAllReportsRejections() {
+        LocalDateTime start = FIRST_DAY.atTime(9, 0);
+        StudySession good = new StudySession(start, start.plusMinutes(40), "Math");
+        StudySession alsoGood = new StudySession(start.plusHours(2), start.plusHours(3), "Physics");
+        List<StudySession> batch = Arrays.asList(
+                good,
+                null,
+                new StudySession(null, start, "Math"),
+                new StudySession(start, null, "Math"),
+                new StudySession(start, start.minusMinutes(1), "Math"),
+                new StudySession(start, start.plusMinutes(5), null),
+                new StudySession(start, start.plusMinutes(5), "   "),
+                alsoGood);
+        StudyTracker tracker = new StudyTracker();
+        BatchReport report = tracker.addAll(batch);
+
+        assertEquals(2, report.getAcceptedCount());
+        assertEquals(6, report.getRejectedCount());
+        List<Integer> indexes = new ArrayList<>();
+        List<BatchReport.Reason> reasons = new ArrayList<>();
+        for (BatchReport.Rejection rejection : report.getRejections()) {
+            indexes.add(rejection.getIndex());
+            reasons.add(rejection.getReason());
+            assertEquals(batch.get(rejection.getIndex()), rejection.getSession());
+        }
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), indexes);
+        assertEquals(List.of(BatchReport.Reason.NULL_SESSION, BatchReport.Reason.MISSING_TIME, BatchReport.Reason.MISSING_TIME,
+                BatchReport.Reason.END_BEFORE_START, BatchReport.Reason.EMPTY_SUBJECT, BatchReport.Reason.EMPTY_SUBJECT), reasons);
+        assertEquals(2, report.countRejected(BatchReport.Reason.EMPTY_SUBJECT));
+        assertEquals(List.of(good, alsoGood), tracker.getAllSessions());
+        assertEquals(100, tracker.getTotalStudyMinutes());
+    }
+}
@@ -0,0 +1,70 @@
+package com.studytracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+class SubjectDictionaryTest {
+    private static StudySession session(String subject, int hour) {
+        LocalDateTime start = LocalDateTime.of(2024, 6, 3, hour, 0);
+        return new StudySession(start, start.plusMinutes(45), subject);
+    }
+
+    @Test
+    void caseInsensitiveKeepsFirstSpelling() {
+        SubjectDictionary subjects = new SubjectDictionary(true);
+        int id = subjects.idOf("Math");
+        assertEquals(id, subjects.idOf("MATH"));
+        assertEquals(id, subjects.lookup("math"));
+        assertEquals("Math", subjects.intern("mAtH"));
+        assertEquals(-1, subjects.lookup("Physics"));
+        assertEquals(1, subjects.size());
+    }
+
+    // The tracker stores the canonical spelling without touching the caller's session
+    @Test
+    void trackerDoesNotRewriteCallerSessions() {
+        StudyTracker tracker = new StudyTracker(new ListSessionStore(), new SubjectDictionary(true));
+        StudySession first = session("Math", 8);
+        StudySession second = session("math", 10);
+        tracker.addSession(first);
+        tracker.addSession(second);
+
+        assertEquals("math", second.getSubject());
+        assertSame(first, tracker.getAllSessions().get(0));
+        assertEquals("Math", tracker.getAllSessions().get(1).getSubject());
+        assertEquals(2, tracker.getSessionsBySubject("MATH").size());
+        assertEquals(90, tracker.getTotalStudyMinutes());
+    }
+
+    // Equal but separately built strings are not a change of subject
+    @Test
+    void equalSubjectsKeepCallerSession() {
+        StudyTracker tracker = new StudyTracker();
+        StudySession session = session(new String("Physics"), 9);
+        tracker.addSession(session(new String("Physics"), 8));
+        tracker.addSession(session);
+        assertSame(session, tracker.getAllSessions().get(1));
+        assertEquals(2, tracker.getSessionsBySubject("Physics").size());
+    }
+
+    @Test
+    void rejectsNullSession() {
+        StudyTracker tracker = new StudyTracker();
+        assertThrows(IllegalArgumentException.class, () -> tracker.addSession(null));
+        assertEquals(0, tracker.getAllSessions().size());
+    }
+
+    // A tracker over a store with its own dictionary uses that dictionary
+    @Test
+    void sharesStoreDictionary() {
+        SubjectDictionary subjects = new SubjectDictionary();
+        ColumnarSessionStore store = new ColumnarSessionStore(16, subjects);
+        assertSame(subjects, new StudyTracker(store).getSubjectDictionary());
+        assertThrows(IllegalArgumentException.class, () -> new StudyTracker(store, new SubjectDictionary()));
+    }
+}
@@ -0,0 +1,89 @@
+package com.studytracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TimestampParserTest {
+    private static final String ALPHABET = "0123456789-+:.TtZ ";
+
+    private static LocalDateTime expected(String text) {
+        try {
+            return LocalDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // Both the String path (SessionReader) and the byte path (CsvChunkParser)
+    private static void check(String text) {
+        LocalDateTime expected = expected(text);
+        assertEquals(expected, TimestampParser.parse(text), text);
+        String padded = "x," + text + ",y";
+        assertEquals(expected, TimestampParser.parse(padded, 2, 2 + text.length()), padded);
+        ByteBuffer bytes = ByteBuffer.wrap(padded.getBytes(StandardCharsets.UTF_8));
+        int to = bytes.capacity() - 2;
+        assertEquals(expected, TimestampParser.parse(new AsciiBytes(bytes).reset(2, to)), padded);
+    }
+
+    @Test
+    void matchesLocalDateTimeParseOnEdgeCases() {
+        String[] cases = {
+            "2024-01-01T10:00", "2024-01-01T10:00:56", "2024-01-01T10:00:56.", "2024-01-01T10:00:56.1",
+            "2024-01-01T10:00:56.123456789", "2024-01-01T10:00:56.1234567891", "2024-01-01t10:00",
+            "+2024-01-01T10:00", "+0000-01-01T10:00", "-0000-01-01T10:00", "0000-01-01T10:00",
+            "+10000-01-01T10:00", "-10000-01-01T10:00", "10000-01-01T10:00", "-0001-12-31T23:59",
+            "+999999999-12-31T23:59:59.999999999", "+1000000000-01-01T00:00",
+            "2024-02-29T00:00", "2023-02-29T00:00", "1900-02-29T00:00", "2000-02-29T00:00",
+            "2024-04-31T00:00", "2024-13-01T00:00", "2024-00-01T00:00", "2024-01-00T00:00",
+            "2024-01-01T24:00", "2024-01-01T23:60", "2024-01-01T23:59:60", "2024-01-01T10:00:5",
+            "2024-01-01 10:00", "2024-01-01T10", "2024-01-01", "", "T", "2024-01-01T10:00Z",
+            " 2024-01-01T10:00", "2024-01-01T10:00 ", "Start Time"
+        };
+        for (String text : cases) {
+            check(text);
+        }
+    }
+
+    // Random edits to valid timestamps, plus random strings over the same characters
+    @Test
+    void matchesLocalDateTimeParseOnFuzzedInput() {
+        Random random = new Random(20240101);
+        for (int n = 0; n < 200_000; n++) {
+            StringBuilder text = new StringBuilder();
+            if (n % 4 == 0) {
+                int length = random.nextInt(24);
+                for (int i = 0; i < length; i++) {
+                    text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                }
+            } else {
+                LocalDateTime time = LocalDateTime.of(random.nextInt(12_000) - 1000, 1 + random.nextInt(12),
+                        1 + random.nextInt(28), random.nextInt(24), random.nextInt(60), random.nextInt(60),
+                        random.nextBoolean() ? 0 : random.nextInt(1_000_000_000));
+                text.append(time);
+                int edits = random.nextInt(3);
+                for (int i = 0; i < edits && text.length() > 0; i++) {
+                    int at = random.nextInt(text.length());
+                    char c = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+                    switch (random.nextInt(3)) {
+                        case 0:
+                            text.setCharAt(at, c);
+                            break;
+                        case 1:
+                            text.insert(at, c);
+                            break;
+                        default:
+                            text.deleteCharAt(at);
+                    }
+                }
+            }
+            check(text.toString());
+        }
+    }
+}
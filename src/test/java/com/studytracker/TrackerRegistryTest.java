@@ -0,0 +1,69 @@
+package com.studytracker;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TrackerRegistryTest {
+    @TempDir
+    Path directory;
+
+    private static StudySession session(int i) {
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 9, 0).plusHours(i * 5L);
+        return new StudySession(start, start.plusMinutes(30 + i % 60), "Subject " + (i % 4));
+    }
+
+    // Sessions survive eviction and come back from the user's file
+    @Test
+    void evictedTrackersReloadFromDisk() throws IOException {
+        TrackerRegistry registry = new TrackerRegistry(directory.toString(), 2, 64 * 1024);
+        StudyTracker expected = new StudyTracker();
+        for (int i = 0; i < 500; i++) {
+            registry.addSession("user" + (i % 20), session(i));
+            if (i % 20 == 3) {
+                expected.addSession(session(i));
+            }
+        }
+        registry.flush();
+
+        TrackerRegistry reopened = new TrackerRegistry(directory.toString(), 2, 64 * 1024);
+        int minutes = reopened.withTracker("user3", StudyTracker::getTotalStudyMinutes);
+        int count = reopened.withTracker("user3", tracker -> tracker.getAllSessions().size());
+        assertEquals(expected.getTotalStudyMinutes(), minutes);
+        assertEquals(expected.getAllSessions().size(), count);
+    }
+
+    // A file that can't be read fails the call and is never overwritten
+    @Test
+    void corruptFileIsNotOverwritten() throws IOException {
+        TrackerRegistry registry = new TrackerRegistry(directory.toString(), 1, 1 << 20);
+        for (int i = 0; i < 1000; i++) {
+            registry.addSession("alice", session(i));
+        }
+        registry.flush();
+        Path file = directory.resolve("alice.bin");
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[5] ^= 1; // version
+        Files.write(file, bytes);
+
+        TrackerRegistry reopened = new TrackerRegistry(directory.toString(), 1, 1 << 20);
+        assertThrows(IOException.class, () -> reopened.addSession("alice", session(1000)));
+        assertThrows(IOException.class, () -> reopened.withTracker("alice", StudyTracker::getStudyStreak));
+        reopened.flush();
+        assertEquals(0, reopened.getLoadedCount());
+        assertArrayEquals(bytes, Files.readAllBytes(file));
+    }
+
+    @Test
+    void rejectsPartitionCountBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> new TrackerRegistry(directory.toString(), 0, 1 << 20));
+    }
+}